@@ -11,6 +11,7 @@ import com.gtceuterminal.common.theme.DefaultThemeConfig;
 import com.gtceuterminal.common.data.GTCEUTerminalItems;
 import com.gtceuterminal.common.data.GTCEUTerminalTabs;
 import com.gtceuterminal.common.network.TerminalNetwork;
+import com.gtceuterminal.common.scanner.ComponentClassifier;
 
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.RegisterCommandsEvent;
@@ -91,6 +92,9 @@ public class GTCEUTerminalMod {
             SubstationHatchConfig.initialize();
             DualHatchConfig.initialize();
 
+            // Registries are frozen by now: precompute Block -> component classification
+            ComponentClassifier.rebuild();
+
             LOGGER.info("All component configurations initialized successfully");
 
             LOGGER.info("Initializing AE2 integration...");
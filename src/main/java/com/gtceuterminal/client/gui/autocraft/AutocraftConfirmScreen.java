@@ -2,6 +2,7 @@ package com.gtceuterminal.client.gui.autocraft;
 
 import com.gtceuterminal.common.autocraft.AnalysisResult;
 import com.gtceuterminal.common.autocraft.AnalysisResult.Entry;
+import com.gtceuterminal.common.network.CPacketCancelAutobuild;
 import com.gtceuterminal.common.network.CPacketConfirmAutobuild;
 import com.gtceuterminal.common.network.TerminalNetwork;
 
@@ -9,10 +10,12 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
 
 import org.lwjgl.glfw.GLFW;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Confirmation screen shown after the server sends {@link com.gtceuterminal.common.network.SPacketAnalysisResult}.
@@ -59,6 +62,14 @@ public class AutocraftConfirmScreen extends Screen {
         this.entries = result.entries;
     }
 
+    // Stock counts pushed by the server while this screen is open
+    public void updateStock(Map<Item, Long> counts) {
+        for (Entry e : entries) {
+            Long count = counts.get(e.stack.getItem());
+            if (count != null) e.inME = count;
+        }
+    }
+
     @Override
     protected void init() {
         super.init();
@@ -256,8 +267,10 @@ public class AutocraftConfirmScreen extends Screen {
         Minecraft.getInstance().setScreen(null); // close all GUIs, back to game
     }
 
+    // Cancel and Esc both land here; confirming ends the watch server-side instead
     @Override
     public void onClose() {
+        TerminalNetwork.sendToServer(new CPacketCancelAutobuild());
         Minecraft.getInstance().setScreen(parent);
     }
 
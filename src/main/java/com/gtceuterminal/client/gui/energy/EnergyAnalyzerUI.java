@@ -2,6 +2,7 @@ package com.gtceuterminal.client.gui.energy;
 
 import com.gtceuterminal.client.gui.widget.WallpaperWidget;
 import com.gtceuterminal.client.gui.factory.EnergyAnalyzerUIFactory;
+import com.gtceuterminal.common.energy.EnergyRollup;
 import com.gtceuterminal.common.energy.EnergySnapshot;
 import com.gtceuterminal.common.energy.LinkedMachineData;
 import com.gtceuterminal.common.energy.RecipeHistoryEntry;
@@ -60,6 +61,9 @@ public class EnergyAnalyzerUI {
 
     // Mutable widget refs updated in-place
     private EnergyGraphWidget graphWidget;
+    private EnergyUpdateWidget updater;
+    // Graph range: null = live history, otherwise minute (24h) or hour (7d) rollups
+    private EnergyRollup.Resolution graphRange = null;
     private WidgetGroup energyBarFill;
     private WidgetGroup recipeBarFill;
     private WidgetGroup recipeBarBg;
@@ -98,7 +102,7 @@ public class EnergyAnalyzerUI {
         rootGroup.addWidget(buildSidebar());
         rootGroup.addWidget(buildDetail());
 
-        EnergyUpdateWidget updater = new EnergyUpdateWidget(holder);
+        updater = new EnergyUpdateWidget(holder);
         updater.setRebuildCallback(this::onDataRefresh);
         rootGroup.addWidget(updater);
 
@@ -440,6 +444,23 @@ public class EnergyAnalyzerUI {
         graphHdr.setTextColor(C_GOLD);
         g.addWidget(graphHdr);
 
+        // Range toggle: Live → 24h → 7d
+        ButtonWidget rangeBtn = new ButtonWidget(GRAPH_W - 40, GRAPH_SECTION_Y - 1, 40, 10,
+                new ColorRectTexture(0x00000000),
+                cd -> {
+                    graphRange = graphRange == null ? EnergyRollup.Resolution.MINUTE
+                            : graphRange == EnergyRollup.Resolution.MINUTE ? EnergyRollup.Resolution.HOUR
+                            : null;
+                    if (updater != null) updater.requestRollup(selectedIndex, graphRange);
+                    updateDynamicWidgets();
+                });
+        rangeBtn.setHoverTexture(new ColorRectTexture(0x22FFFFFF));
+        g.addWidget(rangeBtn);
+        g.addWidget(dynLabel(GRAPH_W - 38, GRAPH_SECTION_Y, () -> Component.translatable(
+                graphRange == null ? "gui.gtceuterminal.energy_analyzer.range.live"
+                        : graphRange == EnergyRollup.Resolution.MINUTE ? "gui.gtceuterminal.energy_analyzer.range.day"
+                        : "gui.gtceuterminal.energy_analyzer.range.week").getString(), C_GRAY));
+
         graphWidget = new EnergyGraphWidget(0, GRAPH_Y, GRAPH_W, GRAPH_H, new long[0], new long[0]);
         g.addWidget(graphWidget);
 
@@ -447,12 +468,8 @@ public class EnergyAnalyzerUI {
         for (int i = 0; i <= 4; i++) {
             final int ti = i;
             LabelWidget axisL = new LabelWidget(GRAPH_W + 3, GRAPH_Y + (GRAPH_H * i) / 4 - 4, () -> {
-                EnergySnapshot s = selSnap();
-                if (s == null) return "";
-                long max = 1;
-                for (long v : s.inputHistory)  max = Math.max(max, v);
-                for (long v : s.outputHistory) max = Math.max(max, v);
-                long maxEuT = max / 20;
+                if (selSnap() == null || graphWidget == null) return "";
+                long maxEuT = graphWidget.getMaxValue() / 20;
                 long val = maxEuT - ((maxEuT * ti) / 4);
                 return formatEU(val) + "/t";
             });
@@ -481,6 +498,7 @@ public class EnergyAnalyzerUI {
     private void selectMachine(int idx) {
         if (idx == selectedIndex) return;
         selectedIndex = idx;
+        if (graphRange != null && updater != null) updater.requestRollup(selectedIndex, graphRange);
         // Update sidebar highlights
         if (sidebarSelects != null) {
             for (int i = 0; i < sidebarSelects.length; i++) {
@@ -522,9 +540,14 @@ public class EnergyAnalyzerUI {
 
         // Graph data
         if (graphWidget != null) {
-            graphWidget.updateData(
-                    snap != null ? snap.inputHistory  : new long[0],
-                    snap != null ? snap.outputHistory : new long[0]);
+            if (graphRange != null && updater != null) {
+                // Bucket averages for the selected range (empty until the server's first reply)
+                graphWidget.updateData(updater.getRollupIn().avg(), updater.getRollupOut().avg());
+            } else {
+                graphWidget.updateData(
+                        snap != null ? snap.inputHistory  : new long[0],
+                        snap != null ? snap.outputHistory : new long[0]);
+            }
         }
     }
 
@@ -892,13 +915,16 @@ public class EnergyAnalyzerUI {
     }
 
     private static String modeBadge(EnergySnapshot s) {
-        if (!s.isFormed) return Component.translatable("gui.gtceuterminal.energy_analyzer.mode.not_formed").getString();
-        return switch (s.mode) {
+        String badge;
+        if (!s.isFormed) badge = Component.translatable("gui.gtceuterminal.energy_analyzer.mode.not_formed").getString();
+        else badge = switch (s.mode) {
             case CONSUMER  -> Component.translatable("gui.gtceuterminal.energy_analyzer.mode.consumer").getString();
             case GENERATOR -> Component.translatable("gui.gtceuterminal.energy_analyzer.mode.generator").getString();
             case STORAGE   -> Component.translatable("gui.gtceuterminal.energy_analyzer.mode.storage").getString();
             default        -> Component.translatable("gui.gtceuterminal.energy_analyzer.mode.unknown").getString();
         };
+        if (s.stale) badge += " " + Component.translatable("gui.gtceuterminal.energy_analyzer.mode.stale").getString();
+        return badge;
     }
 
     private static int statusColor(EnergySnapshot s) {
@@ -3,27 +3,53 @@ package com.gtceuterminal.client.gui.energy;
 import com.gtceuterminal.client.gui.factory.EnergyAnalyzerUIFactory;
 import com.gtceuterminal.common.config.ItemsConfig;
 import com.gtceuterminal.common.energy.EnergyDataCollector;
+import com.gtceuterminal.common.energy.EnergyRollup;
+import com.gtceuterminal.common.energy.EnergySampler;
 import com.gtceuterminal.common.energy.EnergySnapshot;
 import com.gtceuterminal.common.energy.LinkedMachineData;
 
 import com.lowdragmc.lowdraglib.gui.widget.Widget;
 
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
-// Widget responsible for periodically collecting energy data on server and sending to client
+// Widget responsible for periodically sending the latest sampled energy data from server to client
 public class EnergyUpdateWidget extends Widget {
 
     private static final int UPDATE_ID = 1;
+    private static final int RESYNC_ID = 2;
+    private static final int ROLLUP_ID = 3;
+    private static final int RANGE_ID  = 4;
+    private static final int ROLLUP_NEWEST_ID = 5;
+
+    // Bumped whenever the update layout changes; a mismatching client asks for a full resync
+    private static final int SYNC_VERSION = 2;
 
     private final EnergyAnalyzerUIFactory.EnergyAnalyzerHolder holder;
     private int tickCounter = 0;
 
+    // Server: what the client holds after our last packet; null forces a full baseline
+    private List<EnergySnapshot> lastSent = null;
+    private List<LinkedMachineData> lastSentMachines = null;
+    private int seq = 0;
+
+    // Client: sequence of the last packet applied, -1 before the first baseline
+    private int appliedSeq = -1;
+
+    // Both sides: rollup range requested by the client; null = live raw history
+    private EnergyRollup.Resolution rollupResolution = null;
+    private int rollupIndex = -1;
+    // Server: newest bucket already sent, and its sample count, so an unchanged rollup is not re-sent
+    private long rollupSentBucket = Long.MIN_VALUE;
+    private int rollupSentCount = -1;
+    // Client: last received rollup for (rollupIndex, rollupResolution)
+    private EnergyRollup.Series rollupIn  = EnergyRollup.Series.EMPTY;
+    private EnergyRollup.Series rollupOut = EnergyRollup.Series.EMPTY;
+
     private Runnable rebuildCallback;
 
     public EnergyUpdateWidget(EnergyAnalyzerUIFactory.EnergyAnalyzerHolder holder) {
@@ -48,50 +74,159 @@ public class EnergyUpdateWidget extends Widget {
         if (player == null) return;
 
         List<EnergySnapshot> snapshots = collectSnapshots(player);
+        List<LinkedMachineData> machines = new ArrayList<>(holder.machines);
+        List<EnergySnapshot> base = lastSent;
+        List<LinkedMachineData> baseMachines = lastSentMachines;
+        int baseSeq = seq;
+        int packetSeq = ++seq;
+        boolean full = base == null || base.size() != snapshots.size();
 
         writeUpdateInfo(UPDATE_ID, buf -> {
-            buf.writeInt(snapshots.size());
-            for (EnergySnapshot s : snapshots) s.encode(buf);
-        });
-    }
+            buf.writeVarInt(SYNC_VERSION);
+            buf.writeVarInt(packetSeq);
+            buf.writeBoolean(full);
+            if (!full) buf.writeVarInt(baseSeq);
+            buf.writeVarInt(snapshots.size());
 
-    private List<EnergySnapshot> collectSnapshots(ServerPlayer player) {
-        List<EnergySnapshot> result = new ArrayList<>();
-        List<LinkedMachineData> machines = holder.machines;
-
-        for (LinkedMachineData m : machines) {
-            ServerLevel targetLevel = null;
-            for (ServerLevel sl : player.getServer().getAllLevels()) {
-                if (sl.dimension().location().toString().equals(m.getDimensionId())) {
-                    targetLevel = sl;
-                    break;
+            for (int i = 0; i < snapshots.size(); i++) {
+                // A slot that now holds a different machine is re-sent whole
+                boolean delta = !full && machines.get(i).matches(
+                        baseMachines.get(i).getPos(), baseMachines.get(i).getDimensionId());
+                if (!full) buf.writeBoolean(delta);
+                if (delta) {
+                    snapshots.get(i).encodeDelta(base.get(i), buf);
+                } else {
+                    snapshots.get(i).encode(buf);
                 }
             }
+        });
 
-            if (targetLevel != null) {
-                result.add(EnergyDataCollector.collect(
-                        targetLevel, m.getPos(), m.getCustomName(), m.getControllerBlockKey()));
-            } else {
-                EnergySnapshot offline = new EnergySnapshot();
-                m.applyToSnapshotIdentity(offline);
-                offline.mode = EnergySnapshot.MachineMode.UNKNOWN;
-                offline.isFormed = false;
-                result.add(offline);
-            }
+        lastSent = snapshots;
+        lastSentMachines = machines;
+
+        sendRollupIfChanged(player);
+    }
+
+    // Rollups are only sent for the machine on screen: whole when a new bucket has started,
+    // otherwise just the newest bucket while it is still filling
+    private void sendRollupIfChanged(ServerPlayer player) {
+        if (rollupResolution == null || rollupIndex < 0 || rollupIndex >= holder.machines.size()) return;
+        LinkedMachineData m = holder.machines.get(rollupIndex);
+        var dimension = m.getDimensionKey();
+        if (dimension == null) return;
+
+        EnergyRollup in  = EnergyDataCollector.getInputRollup(dimension, m.getPos());
+        EnergyRollup out = EnergyDataCollector.getOutputRollup(dimension, m.getPos());
+        if (in == null || out == null) return;
+
+        EnergyRollup.Buckets inBuckets  = in.get(rollupResolution);
+        EnergyRollup.Buckets outBuckets = out.get(rollupResolution);
+        int newestCount = inBuckets.newestCount() + outBuckets.newestCount();
+        int index = rollupIndex;
+        EnergyRollup.Resolution resolution = rollupResolution;
+
+        if (inBuckets.newestBucket() == rollupSentBucket) {
+            if (newestCount == rollupSentCount) return;
+            rollupSentCount = newestCount;
+            writeUpdateInfo(ROLLUP_NEWEST_ID, buf -> {
+                buf.writeVarInt(index);
+                buf.writeEnum(resolution);
+                inBuckets.encodeNewest(buf);
+                outBuckets.encodeNewest(buf);
+            });
+            return;
+        }
+        rollupSentBucket = inBuckets.newestBucket();
+        rollupSentCount = newestCount;
+
+        writeUpdateInfo(ROLLUP_ID, buf -> {
+            buf.writeVarInt(index);
+            buf.writeEnum(resolution);
+            inBuckets.encode(buf);
+            outBuckets.encode(buf);
+        });
+    }
+
+    @Override
+    public void handleClientAction(int id, FriendlyByteBuf buffer) {
+        if (id == RESYNC_ID) {
+            // The client lost track of the baseline; the next update is sent in full
+            lastSent = null;
+            lastSentMachines = null;
+            tickCounter = ItemsConfig.getEARefreshIntervalTicks();
+        } else if (id == RANGE_ID) {
+            rollupIndex = buffer.readVarInt();
+            rollupResolution = buffer.readBoolean() ? buffer.readEnum(EnergyRollup.Resolution.class) : null;
+            rollupSentBucket = Long.MIN_VALUE;
+            rollupSentCount = -1;
+            tickCounter = ItemsConfig.getEARefreshIntervalTicks();
+        } else {
+            super.handleClientAction(id, buffer);
         }
-        return result;
+    }
+
+    // Reads the background sampler; nothing is collected here
+    private List<EnergySnapshot> collectSnapshots(ServerPlayer player) {
+        return EnergySampler.readAll(player.getServer(), holder.machines);
     }
 
     // ─── Client side ──────────────────────────────────────────────────────────
     @Override
     public void readUpdateInfo(int id, FriendlyByteBuf buffer) {
+        if (id == ROLLUP_ID) {
+            int index = buffer.readVarInt();
+            EnergyRollup.Resolution resolution = buffer.readEnum(EnergyRollup.Resolution.class);
+            EnergyRollup.Series in  = EnergyRollup.Series.decode(buffer);
+            EnergyRollup.Series out = EnergyRollup.Series.decode(buffer);
+            // Ignore a rollup for a selection the user has already moved away from
+            if (index == rollupIndex && resolution == rollupResolution) {
+                rollupIn = in;
+                rollupOut = out;
+                if (rebuildCallback != null) rebuildCallback.run();
+            }
+            return;
+        }
+        if (id == ROLLUP_NEWEST_ID) {
+            int index = buffer.readVarInt();
+            EnergyRollup.Resolution resolution = buffer.readEnum(EnergyRollup.Resolution.class);
+            // Always consume both buckets; only apply them to the series they belong to
+            boolean current = index == rollupIndex && resolution == rollupResolution;
+            EnergyRollup.Series in  = current ? rollupIn  : EnergyRollup.Series.EMPTY;
+            EnergyRollup.Series out = current ? rollupOut : EnergyRollup.Series.EMPTY;
+            in.readNewest(buffer);
+            out.readNewest(buffer);
+            if (current && rebuildCallback != null) rebuildCallback.run();
+            return;
+        }
         if (id != UPDATE_ID) return;
 
-        int count = buffer.readInt();
+        int version = buffer.readVarInt();
+        if (version != SYNC_VERSION) {
+            requestResync();
+            return;
+        }
+        int packetSeq = buffer.readVarInt();
+        boolean full = buffer.readBoolean();
+        if (!full && buffer.readVarInt() != appliedSeq) {
+            // A delta against a baseline we do not have; drop it and wait for a full packet
+            requestResync();
+            return;
+        }
+
+        int count = buffer.readVarInt();
+        if (!full && count != holder.snapshots.size()) {
+            requestResync();
+            return;
+        }
+
         List<EnergySnapshot> fresh = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            fresh.add(EnergySnapshot.decode(buffer));
+            boolean delta = !full && buffer.readBoolean();
+            fresh.add(delta
+                    ? EnergySnapshot.applyDelta(holder.snapshots.get(i), buffer)
+                    : EnergySnapshot.decode(buffer));
         }
+        appliedSeq = packetSeq;
 
         // Replace snapshots in the holder
         holder.snapshots.clear();
@@ -102,4 +237,30 @@ public class EnergyUpdateWidget extends Widget {
             rebuildCallback.run();
         }
     }
-}
\ No newline at end of file
+
+    private void requestResync() {
+        appliedSeq = -1;
+        writeClientAction(RESYNC_ID, buf -> {});
+    }
+
+    // Asks the server for rollups of one machine; null resolution goes back to live history
+    public void requestRollup(int machineIndex, EnergyRollup.Resolution resolution) {
+        if (machineIndex == rollupIndex && resolution == rollupResolution) return;
+        rollupIndex = machineIndex;
+        rollupResolution = resolution;
+        rollupIn = EnergyRollup.Series.EMPTY;
+        rollupOut = EnergyRollup.Series.EMPTY;
+        rollupSentBucket = Long.MIN_VALUE;
+        // Button callbacks also run on the server copy of the UI; only the client sends the request
+        if (gui == null || !isRemote()) return;
+        writeClientAction(RANGE_ID, buf -> {
+            buf.writeVarInt(machineIndex);
+            buf.writeBoolean(resolution != null);
+            if (resolution != null) buf.writeEnum(resolution);
+        });
+    }
+
+    public EnergyRollup.Resolution getRollupResolution() { return rollupResolution; }
+    public EnergyRollup.Series getRollupIn()  { return rollupIn; }
+    public EnergyRollup.Series getRollupOut() { return rollupOut; }
+}
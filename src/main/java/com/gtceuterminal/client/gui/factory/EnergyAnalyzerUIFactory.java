@@ -1,7 +1,7 @@
 package com.gtceuterminal.client.gui.factory;
 
 import com.gtceuterminal.GTCEUTerminalMod;
-import com.gtceuterminal.common.energy.EnergyDataCollector;
+import com.gtceuterminal.common.energy.EnergySampler;
 import com.gtceuterminal.common.energy.EnergySnapshot;
 import com.gtceuterminal.common.energy.LinkedMachineData;
 import com.gtceuterminal.common.item.EnergyAnalyzerItem;
@@ -13,7 +13,6 @@ import com.lowdragmc.lowdraglib.gui.modular.ModularUI;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import com.gtceuterminal.common.theme.ItemTheme;
@@ -41,31 +40,15 @@ public class EnergyAnalyzerUIFactory extends UIFactory<EnergyAnalyzerUIFactory.E
 
     // ─── Open UI ─────────────────────────────────────────────────────────────
     public void openUI(ServerPlayer player, int initialIndex) {
-        // Collect snapshots server-side before opening
+        // Read snapshots server-side before opening
         ItemStack stack = findAnalyzerItem(player);
         ItemTheme theme = ItemTheme.load(stack);
         List<EnergySnapshot> snapshots = new ArrayList<>();
         List<LinkedMachineData> machines = EnergyAnalyzerItem.loadMachines(stack);
 
+        // Background samples, registering any machine the sampler does not know yet
         for (LinkedMachineData m : machines) {
-            String dimId = m.getDimensionId();
-            ServerLevel targetLevel = null;
-            for (ServerLevel sl : player.getServer().getAllLevels()) {
-                if (sl.dimension().location().toString().equals(dimId)) {
-                    targetLevel = sl;
-                    break;
-                }
-            }
-            if (targetLevel != null) {
-                snapshots.add(EnergyDataCollector.collect(
-                        targetLevel, m.getPos(), m.getCustomName(), m.getControllerBlockKey()));
-            } else {
-                EnergySnapshot offline = new EnergySnapshot();
-                m.applyToSnapshotIdentity(offline);
-                offline.mode = EnergySnapshot.MachineMode.UNKNOWN;
-                offline.isFormed = false;
-                snapshots.add(offline);
-            }
+            snapshots.add(EnergySampler.read(player.getServer(), m));
         }
 
         EnergyAnalyzerHolder holder = new EnergyAnalyzerHolder(false, snapshots, machines, initialIndex, theme);
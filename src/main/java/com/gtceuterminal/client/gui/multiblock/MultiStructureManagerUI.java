@@ -3,7 +3,7 @@ package com.gtceuterminal.client.gui.multiblock;
 import com.gtceuterminal.client.gui.widget.WallpaperWidget;
 import com.gtceuterminal.GTCEUTerminalMod;
 import com.gtceuterminal.common.multiblock.MultiblockInfo;
-import com.gtceuterminal.common.multiblock.MultiblockScanner;
+import com.gtceuterminal.common.multiblock.MultiblockScanJob;
 import com.gtceuterminal.client.gui.factory.MultiStructureManagerUIFactory;
 import com.gtceuterminal.client.gui.theme.ThemeEditorDialog;
 import com.gtceuterminal.common.theme.ItemTheme;
@@ -62,6 +62,15 @@ public class MultiStructureManagerUI {
     // Keep a reference so we can disable hover/clicks when modal dialogs are open
     private DraggableScrollableWidgetGroup multiblockScroll;
 
+    // Native layout: entries live directly in the display panel, below the title row
+    private DraggableScrollableWidgetGroup nativeDisplay;
+    private int nativeDisplayW;
+    private final List<WidgetGroup> nativeEntries = new ArrayList<>();
+
+    // Streaming scan: advanced a slice per tick by MultiblockScanWidget
+    private MultiblockScanJob scanJob;
+    private boolean announceWhenDone = false;
+
     // ── Constructor A: legacy path — unused, kept temporarily
     // This constructor is no longer called - MultiStructureManagerUIFactory.Holder is used instead.
     // Kept to avoid removing too much at once; can be deleted in a future cleanup.
@@ -103,15 +112,41 @@ public class MultiStructureManagerUI {
         scanMultiblocks();
     }
 
+    // Starts a new tick-sliced scan; the list fills in nearest-first as batches arrive
     private void scanMultiblocks() {
-        this.multiblocks = MultiblockScanner.scanNearbyMultiblocks(
-                player, player.level(), SCAN_RADIUS
-        );
+        this.scanJob = new MultiblockScanJob(player, player.level(), SCAN_RADIUS);
+        this.multiblocks = scanJob.getResults();
+        this.selectedIndex = -1;
+        rebuildList();
+    }
+
+    private void onScanDone() {
         GTCEUTerminalMod.LOGGER.info("Scanned {} multiblocks", multiblocks.size());
+        if (announceWhenDone) {
+            announceWhenDone = false;
+            player.displayClientMessage(
+                    net.minecraft.network.chat.Component.translatable(
+                            "gui.gtceuterminal.multiblock_manager.refreshed_found",
+                            multiblocks.size()
+                    ),
+                    true
+            );
+        }
+    }
+
+    private LabelWidget createTitleLabel(int x, int y) {
+        // Client-side supplier so the count follows the streaming scan
+        LabelWidget label = new LabelWidget(x, y, () -> Component.translatable(
+                "gui.gtceuterminal.multiblock_manager.nearby_title",
+                multiblocks.size()
+        ).getString());
+        label.setClientSideWidget();
+        return label;
     }
 
     public ModularUI createUI() {
         this.gui = new ModularUI(new Size(dialogW, dialogH), uiHolder, player);
+        gui.widget(new MultiblockScanWidget(() -> scanJob, batch -> rebuildList(), this::onScanDone));
 
         if (theme.isNativeStyle()) {
             gui.background(com.gregtechceu.gtceu.api.gui.GuiTextures.BACKGROUND);
@@ -128,12 +163,7 @@ public class MultiStructureManagerUI {
                     new com.lowdragmc.lowdraglib.gui.texture.ColorRectTexture(0xFF222222),
                     new com.lowdragmc.lowdraglib.gui.texture.ColorRectTexture(0xFF555555));
 
-            String title = Component.translatable(
-                    "gui.gtceuterminal.multiblock_manager.nearby_title",
-                    multiblocks.size()
-            ).getString();
-            LabelWidget titleLabel = new LabelWidget(4, 5, title);
-            display.addWidget(titleLabel);
+            display.addWidget(createTitleLabel(4, 5));
 
             // ⚙ gear button — top right inside the display panel
             ButtonWidget gearBtn = new ButtonWidget(displayW - 18, 2, 14, 14,
@@ -147,17 +177,15 @@ public class MultiStructureManagerUI {
             // ↻ refresh button — left of gear button
             ButtonWidget refreshBtn = new ButtonWidget(displayW - 36, 2, 14, 14,
                     new com.lowdragmc.lowdraglib.gui.texture.ColorRectTexture(0x00000000),
-                    cd -> { scanMultiblocks(); refreshUI(); });
+                    cd -> refreshUI());
             refreshBtn.setButtonTexture(new TextTexture("§7↻").setWidth(14).setType(TextTexture.TextType.NORMAL));
             refreshBtn.setHoverTexture(new com.lowdragmc.lowdraglib.gui.texture.ColorRectTexture(0x33FFFFFF));
             refreshBtn.setHoverTooltips(Component.translatable("gui.gtceuterminal.multiblock_manager.refresh_tooltip").getString());
             display.addWidget(refreshBtn);
 
-            int yPos = 17;
-            for (int i = 0; i < multiblocks.size(); i++) {
-                display.addWidget(createMultiblockEntryNative(multiblocks.get(i), i, yPos, displayW));
-                yPos += 22;
-            }
+            this.nativeDisplay = display;
+            this.nativeDisplayW = displayW;
+            rebuildList();
 
             // Refresh button below the display panel
             gui.widget(display);
@@ -239,7 +267,7 @@ public class MultiStructureManagerUI {
                         ? com.gregtechceu.gtceu.api.gui.GuiTextures.BUTTON
                         : new GuiTextureGroup(new ColorRectTexture(COLOR_BG_MEDIUM),
                         new ColorBorderTexture(1, COLOR_BORDER_LIGHT)),
-                cd -> { scanMultiblocks(); refreshUI(); });
+                cd -> refreshUI());
         btn.setButtonTexture(new TextTexture("↻").setWidth(28).setType(TextTexture.TextType.NORMAL));
         return btn;
     }
@@ -257,11 +285,7 @@ public class MultiStructureManagerUI {
         WidgetGroup header = new WidgetGroup(2, 2, dialogW - 4, 28);
         header.setBackground(new ColorRectTexture(COLOR_BG_MEDIUM));
 
-        String title = Component.translatable(
-                "gui.gtceuterminal.multiblock_manager.nearby_title",
-                multiblocks.size()
-        ).getString();
-        LabelWidget titleLabel = new LabelWidget(10, 10, title);
+        LabelWidget titleLabel = createTitleLabel(10, 10);
         titleLabel.setTextColor(COLOR_TEXT_WHITE);
         header.addWidget(titleLabel);
 
@@ -285,12 +309,7 @@ public class MultiStructureManagerUI {
         this.multiblockScroll = scrollWidget;
         scrollWidget.setYScrollBarWidth(8);
         scrollWidget.setYBarStyle(new ColorRectTexture(COLOR_BORDER_DARK), new ColorRectTexture(COLOR_BORDER_LIGHT));
-
-        int yPos = 0;
-        for (int i = 0; i < multiblocks.size(); i++) {
-            scrollWidget.addWidget(createMultiblockEntry(multiblocks.get(i), i, yPos));
-            yPos += 22;
-        }
+        rebuildList();
         listGroup.addWidget(scrollWidget);
         return listGroup;
     }
@@ -470,6 +489,17 @@ public class MultiStructureManagerUI {
 
     // Rebuilds the multiblock list UI.
     private void rebuildList() {
+        if (nativeDisplay != null) {
+            for (WidgetGroup entry : nativeEntries) nativeDisplay.removeWidget(entry);
+            nativeEntries.clear();
+            int yPos = 17;
+            for (int i = 0; i < multiblocks.size(); i++) {
+                WidgetGroup entry = createMultiblockEntryNative(multiblocks.get(i), i, yPos, nativeDisplayW);
+                nativeEntries.add(entry);
+                nativeDisplay.addWidget(entry);
+                yPos += 22;
+            }
+        }
         if (multiblockScroll == null) return;
         multiblockScroll.clearAllWidgets();
         int yPos = 0;
@@ -479,16 +509,10 @@ public class MultiStructureManagerUI {
         }
     }
 
+    // Restarts the scan; the "found N" message is shown once the new scan has finished
     private void refreshUI() {
         scanMultiblocks();
-
-        player.displayClientMessage(
-                net.minecraft.network.chat.Component.translatable(
-                        "gui.gtceuterminal.multiblock_manager.refreshed_found",
-                        multiblocks.size()
-                ),
-                true
-        );
+        announceWhenDone = true;
     }
 
 
@@ -0,0 +1,57 @@
+package com.gtceuterminal.client.gui.multiblock;
+
+import com.gtceuterminal.common.multiblock.MultiblockInfo;
+import com.gtceuterminal.common.multiblock.MultiblockScanJob;
+
+import com.lowdragmc.lowdraglib.gui.widget.Widget;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Invisible widget that advances a MultiblockScanJob a little every tick, on whichever side it lives
+public class MultiblockScanWidget extends Widget {
+
+    private final Supplier<MultiblockScanJob> jobSupplier;
+    private final Consumer<List<MultiblockInfo>> batchCallback;
+    private final Runnable doneCallback;
+
+    private MultiblockScanJob lastJob;
+
+    public MultiblockScanWidget(Supplier<MultiblockScanJob> jobSupplier,
+                                Consumer<List<MultiblockInfo>> batchCallback,
+                                Runnable doneCallback) {
+        super(0, 0, 0, 0);
+        this.jobSupplier = jobSupplier;
+        this.batchCallback = batchCallback;
+        this.doneCallback = doneCallback;
+    }
+
+    // ─── Server side ──────────────────────────────────────────────────────────
+    @Override
+    public void detectAndSendChanges() {
+        super.detectAndSendChanges();
+        advance();
+    }
+
+    // ─── Client side ──────────────────────────────────────────────────────────
+    @Override
+    public void updateScreen() {
+        super.updateScreen();
+        advance();
+    }
+
+    private void advance() {
+        MultiblockScanJob job = jobSupplier.get();
+        if (job == null || (job.isDone() && job == lastJob)) return;
+        lastJob = job;
+
+        List<MultiblockInfo> batch = job.step(MultiblockScanJob.DEFAULT_BUDGET_NANOS);
+        if (!batch.isEmpty() && batchCallback != null) {
+            batchCallback.accept(batch);
+        }
+        if (job.isDone() && doneCallback != null) {
+            doneCallback.run();
+        }
+    }
+}
@@ -36,6 +36,14 @@ public class EnergyGraphWidget extends Widget {
         this.outputHistory = outputHistory != null ? outputHistory : new long[0];
     }
 
+    // Largest value currently plotted (at least 1), used for the Y axis scale
+    public long getMaxValue() {
+        long max = 1;
+        for (long v : inputHistory)  max = Math.max(max, v);
+        for (long v : outputHistory) max = Math.max(max, v);
+        return max;
+    }
+
     @Override
     public void drawInForeground(GuiGraphics graphics, int mouseX, int mouseY, float partialTicks) {
         int w = getSize().width;
@@ -59,9 +67,7 @@ public class EnergyGraphWidget extends Widget {
         // Data
         int len = Math.max(inputHistory.length, outputHistory.length);
         if (len >= 2) {
-            long max = 1;
-            for (long v : inputHistory)  max = Math.max(max, v);
-            for (long v : outputHistory) max = Math.max(max, v);
+            long max = getMaxValue();
 
             // Filled areas (translucent)
             drawFilledArea(matrix, inputHistory,  len, w, h, max, COLOR_INPUT,  0.12f);
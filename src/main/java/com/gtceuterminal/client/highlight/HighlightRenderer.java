@@ -7,6 +7,9 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.Tesselator;
 import com.mojang.blaze3d.vertex.VertexFormat;
 
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.core.BlockPos;
@@ -19,13 +22,12 @@ import net.minecraftforge.fml.common.Mod;
 
 import org.joml.Matrix4f;
 
-import java.util.Set;
-
 // Renders colored highlights on blocks that are part of an active multiblock structure.
 @Mod.EventBusSubscriber(modid = "gtceuterminal", value = Dist.CLIENT, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class HighlightRenderer {
 
     private static final float INSET = 0.002f; // slight inset to avoid z-fighting
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     @SubscribeEvent
     public static void onRenderLevel(RenderLevelStageEvent event) {
@@ -59,7 +61,7 @@ public class HighlightRenderer {
         float alphaMod = 0.25f + Math.abs((pulse * 2) - 1) * 0.20f; // gentle pulse
 
         for (var hl : highlights.values()) {
-            Set<BlockPos> blockSet = hl.blocks;
+            LongSet blockSet = hl.blocks;
             if (blockSet.isEmpty()) continue;
 
             int col = hl.color;
@@ -68,11 +70,11 @@ public class HighlightRenderer {
             float b = ( col        & 0xFF) / 255f;
             float a = alphaMod;
 
-            for (BlockPos pos : blockSet) {
-                for (Direction dir : Direction.values()) {
-                    BlockPos neighbor = pos.relative(dir);
+            for (LongIterator it = blockSet.iterator(); it.hasNext(); ) {
+                long pos = it.nextLong();
+                for (Direction dir : DIRECTIONS) {
                     // Only render face if neighbor is NOT part of this multiblock
-                    if (!blockSet.contains(neighbor)) {
+                    if (!blockSet.contains(BlockPos.offset(pos, dir))) {
                         drawFace(buf, mat, pos, dir, r, g, b, a);
                     }
                 }
@@ -90,11 +92,11 @@ public class HighlightRenderer {
 
     // Draws a single face of a block with the given color and alpha.
     private static void drawFace(BufferBuilder buf, Matrix4f mat,
-                                 BlockPos pos, Direction dir,
+                                 long pos, Direction dir,
                                  float r, float g, float b, float a) {
-        float x = pos.getX();
-        float y = pos.getY();
-        float z = pos.getZ();
+        float x = BlockPos.getX(pos);
+        float y = BlockPos.getY(pos);
+        float z = BlockPos.getZ(pos);
 
         float i = INSET;
 
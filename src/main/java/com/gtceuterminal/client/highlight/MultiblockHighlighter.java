@@ -7,6 +7,10 @@ import com.gtceuterminal.common.multiblock.MultiblockStatus;
 
 import com.gregtechceu.gtceu.api.machine.feature.multiblock.IMultiController;
 
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.AABB;
 
@@ -17,7 +21,6 @@ import net.minecraftforge.fml.common.Mod;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 // Manages multiblock highlighting on client side
 @Mod.EventBusSubscriber(modid = GTCEUTerminalMod.MOD_ID, value = Dist.CLIENT)
@@ -35,13 +38,14 @@ public class MultiblockHighlighter {
     }
     public static class HighlightInfo {
         public final BlockPos controllerPos;
-        public final Set<BlockPos> blocks;
+        // BlockPos.asLong keys
+        public final LongSet blocks;
         public final int color;
         public final long startTime;
         public final int duration; // milliseconds, -1 = permanent
         public final AABB boundingBox;
 
-        public HighlightInfo(BlockPos controllerPos, Set<BlockPos> blocks, int color, int duration) {
+        public HighlightInfo(BlockPos controllerPos, LongSet blocks, int color, int duration) {
             this.controllerPos = controllerPos;
             this.blocks = blocks;
             this.color = color;
@@ -55,19 +59,21 @@ public class MultiblockHighlighter {
             return (System.currentTimeMillis() - startTime) > duration;
         }
 
-        private AABB calculateBoundingBox(Set<BlockPos> blocks) {
+        private AABB calculateBoundingBox(LongSet blocks) {
             if (blocks.isEmpty()) return new AABB(0, 0, 0, 0, 0, 0);
 
             int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
             int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
 
-            for (BlockPos pos : blocks) {
-                minX = Math.min(minX, pos.getX());
-                minY = Math.min(minY, pos.getY());
-                minZ = Math.min(minZ, pos.getZ());
-                maxX = Math.max(maxX, pos.getX());
-                maxY = Math.max(maxY, pos.getY());
-                maxZ = Math.max(maxZ, pos.getZ());
+            for (LongIterator it = blocks.iterator(); it.hasNext(); ) {
+                long pos = it.nextLong();
+                int x = BlockPos.getX(pos), y = BlockPos.getY(pos), z = BlockPos.getZ(pos);
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                minZ = Math.min(minZ, z);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+                maxZ = Math.max(maxZ, z);
             }
 
             return new AABB(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1);
@@ -76,7 +82,8 @@ public class MultiblockHighlighter {
 
     public static void highlight(IMultiController controller, int color, int durationMs) {
         BlockPos controllerPos = controller.self().getPos();
-        Set<BlockPos> blocks = MultiblockScanner.getMultiblockBlocks(controller);
+        LongSet blocks = new LongOpenHashSet();
+        for (BlockPos pos : MultiblockScanner.getMultiblockBlocks(controller)) blocks.add(pos.asLong());
 
         if (blocks.isEmpty()) {
             com.gtceuterminal.GTCEUTerminalMod.LOGGER.warn("No blocks found for multiblock at {}", controllerPos);
@@ -94,12 +101,9 @@ public class MultiblockHighlighter {
     public static void highlight(MultiblockInfo multiblock, int color, int durationMs) {
         BlockPos controllerPos = multiblock.getControllerPos();
 
-        Set<BlockPos> blocks = new java.util.HashSet<>(multiblock.getAllBlockPositions());
+        LongSet blocks = multiblock.getAllBlockPositionsPacked();
         if (blocks.isEmpty()) {
-            blocks.add(controllerPos);
-            for (com.gtceuterminal.common.multiblock.ComponentInfo comp : multiblock.getComponents()) {
-                blocks.add(comp.getPosition());
-            }
+            blocks = componentPositions(multiblock);
         }
 
         HighlightInfo info = new HighlightInfo(controllerPos, blocks, color, durationMs);
@@ -116,14 +120,11 @@ public class MultiblockHighlighter {
         BlockPos controllerPos = multiblock.getControllerPos();
 
         // Use pre-computed full block set (flood-filled during scan, includes all casings/coils)
-        Set<BlockPos> blocks = new java.util.HashSet<>(multiblock.getAllBlockPositions());
+        LongSet blocks = multiblock.getAllBlockPositionsPacked();
 
         // Fallback: at least include controller + component positions
         if (blocks.isEmpty()) {
-            blocks.add(controllerPos);
-            for (com.gtceuterminal.common.multiblock.ComponentInfo comp : multiblock.getComponents()) {
-                blocks.add(comp.getPosition());
-            }
+            blocks = componentPositions(multiblock);
             com.gtceuterminal.GTCEUTerminalMod.LOGGER.warn(
                     "highlightByStatus: allBlockPositions empty for '{}', using {} component positions",
                     multiblock.getMachineTypeName(), blocks.size());
@@ -136,6 +137,16 @@ public class MultiblockHighlighter {
                 "Highlight added: {} blocks at {} color=0x{}", blocks.size(), controllerPos, Integer.toHexString(color));
     }
 
+    // Controller + component positions, for multiblocks scanned without a full block set
+    private static LongSet componentPositions(MultiblockInfo multiblock) {
+        LongSet blocks = new LongOpenHashSet();
+        blocks.add(multiblock.getControllerPos().asLong());
+        for (com.gtceuterminal.common.multiblock.ComponentInfo comp : multiblock.getComponents()) {
+            blocks.add(comp.getPosition().asLong());
+        }
+        return blocks;
+    }
+
     public static void highlight(IMultiController controller) {
         highlight(controller, 0xFFFF00, 10000); // Yellow, 10 seconds
     }
@@ -35,6 +35,8 @@ public class AE2Integration {
             GridLinkables.register(GTCEUTerminalItems.SCHEMATIC_INTERFACE.get(), handler);
             GTCEUTerminalMod.LOGGER.info("Registered Schematic Interface with AE2 GridLinkables");
 
+            MEStockCache.register();
+
             initialized = true;
             GTCEUTerminalMod.LOGGER.info("AE2 Integration initialized successfully");
 
@@ -0,0 +1,90 @@
+package com.gtceuterminal.common.ae2;
+
+import appeng.api.networking.IGrid;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+
+import net.minecraft.world.item.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time view of what an ME grid holds, taken once per operation and shared by every
+ * lookup in it. AE2's getAvailableStacks() copies the whole network into a new KeyCounter on
+ * each call, so per-item calls cost one full copy per item on a large system.
+ * This reads the storage service's per-tick cached inventory instead (no copy at all), and only
+ * falls back to a single getAvailableStacks() copy if that is unavailable.
+ */
+public final class MEAvailabilitySnapshot {
+
+    // A snapshot of no grid: everything reads as 0
+    public static final MEAvailabilitySnapshot EMPTY = new MEAvailabilitySnapshot(new KeyCounter());
+
+    private static boolean cachedInventoryUnavailable = false;
+
+    private final KeyCounter counts;
+
+    private MEAvailabilitySnapshot(KeyCounter counts) {
+        this.counts = counts;
+    }
+
+    public static MEAvailabilitySnapshot of(IGrid grid) {
+        if (grid == null) return EMPTY;
+        IStorageService storage = grid.getStorageService();
+        if (storage == null) return EMPTY;
+
+        if (!cachedInventoryUnavailable) {
+            try {
+                return new MEAvailabilitySnapshot(storage.getCachedInventory());
+            } catch (LinkageError e) {
+                // Older AE2 API without the cached inventory
+                cachedInventoryUnavailable = true;
+                GTCEUTerminalMod.LOGGER.info("AE2 cached inventory unavailable, falling back to getAvailableStacks()");
+            }
+        }
+        return new MEAvailabilitySnapshot(storage.getInventory().getAvailableStacks());
+    }
+
+    // Snapshot of a bare MEStorage (no grid to read a cached inventory from): one full copy
+    public static MEAvailabilitySnapshot of(MEStorage storage) {
+        if (storage == null) return EMPTY;
+        return new MEAvailabilitySnapshot(storage.getAvailableStacks());
+    }
+
+    // ─── Queries ─────────────────────────────────────────────────────────────
+    public long get(AEKey key) {
+        return key != null ? counts.get(key) : 0;
+    }
+
+    public long get(Item item) {
+        return get(AEItemKey.of(item));
+    }
+
+    // True if every item is available in at least the required amount
+    public boolean hasAll(Map<Item, Integer> required) {
+        for (Map.Entry<Item, Integer> entry : required.entrySet()) {
+            if (get(entry.getKey()) < entry.getValue()) return false;
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    // Every key of the given type with a positive amount
+    public <T extends AEKey> List<T> keysOfType(Class<T> type) {
+        List<T> keys = new ArrayList<>();
+        for (var entry : counts) {
+            if (entry.getLongValue() > 0 && type.isInstance(entry.getKey())) keys.add(type.cast(entry.getKey()));
+        }
+        return keys;
+    }
+}
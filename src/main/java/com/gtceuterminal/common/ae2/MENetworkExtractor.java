@@ -138,29 +138,16 @@ public class MENetworkExtractor {
         if (!MENetworkScanner.isAE2Available()) return null;
 
         try {
-            // Find a linked wireless terminal in the player's inventory
-            java.util.List<net.minecraft.world.item.ItemStack> toCheck = new java.util.ArrayList<>();
-            toCheck.add(player.getMainHandItem());
-            toCheck.add(player.getOffhandItem());
-            for (net.minecraft.world.item.ItemStack s : player.getInventory().items) toCheck.add(s);
-
-            for (net.minecraft.world.item.ItemStack stack : toCheck) {
-                if (stack.isEmpty()) continue;
-                if (!(stack.getItem() instanceof appeng.items.tools.powered.WirelessTerminalItem terminalItem)) continue;
-                if (!WirelessTerminalHandler.isLinked(stack)) continue;
-
-                appeng.api.networking.IGrid grid =
-                        terminalItem.getLinkedGrid(stack, player.level(), player);
-                if (grid == null) continue;
-
-                var storage = grid.getStorageService().getInventory();
-                for (net.minecraft.world.item.ItemStack candidate : candidates) {
-                    long extracted = storage.extract(
-                            appeng.api.stacks.AEItemKey.of(candidate), 1,
-                            appeng.api.config.Actionable.MODULATE, null);
-                    if (extracted > 0) {
-                        return candidate.copy();
-                    }
+            // AE2 wireless terminal in hands or inventory, resolved by AE2 at most once per tick for the whole build
+            appeng.api.networking.IGrid grid = WirelessTerminalHandler.findAE2TerminalGrid(player);
+            if (grid == null) return null;
+
+            // Simulate first so a miss never touches the network; the take runs as the player
+            for (net.minecraft.world.item.ItemStack candidate : candidates) {
+                MaterialTransaction tx = MaterialTransaction.planKeys(
+                        grid, player, java.util.Map.of(appeng.api.stacks.AEItemKey.of(candidate), 1L), false);
+                if (tx.isSatisfied() && tx.execute()) {
+                    return candidate.copyWithCount(1);
                 }
             }
         } catch (Exception e) {
@@ -5,34 +5,69 @@ import appeng.api.networking.IGrid;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.networking.storage.IStorageService;
 import appeng.api.stacks.AEFluidKey;
-import appeng.api.stacks.AEKey;
-import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.MEStorage;
 import com.gtceuterminal.GTCEUTerminalMod;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.world.level.material.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.server.ServerLifecycleHooks;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Wrapper that adapts AE2's ME Network fluid storage to Forge's IFluidHandler interface
  * This allows the auto-builder to extract fluids directly from the ME Network
+ *
+ * Amounts shown by hasFluid/getFluidAmount/getFluidInTank are cached per AEFluidKey for the
+ * current server tick: each key is read once from the grid's cached inventory, and our own drains
+ * are applied to the cache instead of re-reading. AE2 rebuilds that inventory at the end of every
+ * tick, which is what invalidates the cache (storage watchers need a grid node, which a wirelessly
+ * reached grid does not give us). drain() never trusts the cache: it always asks the grid, as the
+ * player, for anything not already reserved.
+ * reserve() takes fluid for a whole build in one extract per fluid type; drains are served from
+ * the reservation first, and releaseReserved() returns what was not used. Whatever the grid refuses
+ * to take back is carried over to the same player's next reservation instead of being dropped.
+ * fill() only gives back fluid a caller drained but could not use.
  */
 public class MENetworkFluidHandlerWrapper implements IFluidHandler {
 
+    // AE2 uses droplets where 81000 droplets = 1 bucket = 1000mb
+    private static final long DROPLETS_PER_MB = 81;
+
     private final MEStorage inventory;
+    @Nullable private final IGrid grid;
     private final IActionSource actionSource;
-    private List<FluidStack> cachedFluids;
-    private long lastCacheUpdate = 0;
-    private static final long CACHE_DURATION = 1000; // 1 second cache
+
+    // Droplets per fluid for cacheTick, read lazily and adjusted by our own drains
+    private final Object2LongOpenHashMap<AEFluidKey> amounts = new Object2LongOpenHashMap<>();
+    @Nullable private MEAvailabilitySnapshot snapshot;
+    @Nullable private List<AEFluidKey> tanks;
+    private long cacheTick = Long.MIN_VALUE;
+
+    // Droplets already extracted by reserve() and not yet drained
+    private final Object2LongOpenHashMap<AEFluidKey> reserved = new Object2LongOpenHashMap<>();
+    // Player the reservation belongs to, for carrying refused returns over; null if not made for a player
+    @Nullable private UUID owner;
+
+    // Reserved droplets a grid refused to take back, per player, until their next reserve/release
+    private static final Map<UUID, Object2LongOpenHashMap<AEFluidKey>> unreturned = new HashMap<>();
 
     public MENetworkFluidHandlerWrapper(MEStorage inventory, IActionSource actionSource) {
+        this(inventory, null, actionSource);
+    }
+
+    private MENetworkFluidHandlerWrapper(MEStorage inventory, @Nullable IGrid grid, IActionSource actionSource) {
         this.inventory = inventory;
+        this.grid = grid;
         this.actionSource = actionSource;
-        this.cachedFluids = new ArrayList<>();
-        updateCache();
     }
 
     // Factory method to create the wrapper from an AE2 grid
@@ -41,7 +76,7 @@ public class MENetworkFluidHandlerWrapper implements IFluidHandler {
         if (storage == null) {
             return null;
         }
-        return new MENetworkFluidHandlerWrapper(storage.getInventory(), actionSource);
+        return new MENetworkFluidHandlerWrapper(storage.getInventory(), grid, actionSource);
     }
 
     /**
@@ -50,26 +85,17 @@ public class MENetworkFluidHandlerWrapper implements IFluidHandler {
      * This factory method is intentionally in this class (which already imports appeng.*)
      * so callers outside the ae2 package don't need any appeng imports.
      */
-    @org.jetbrains.annotations.Nullable
+    @Nullable
     public static MENetworkFluidHandlerWrapper getFromPlayer(net.minecraft.world.entity.player.Player player) {
         if (!MENetworkScanner.isAE2Available()) return null;
 
         try {
-            java.util.List<net.minecraft.world.item.ItemStack> toCheck = new java.util.ArrayList<>();
-            toCheck.add(player.getMainHandItem());
-            toCheck.add(player.getOffhandItem());
-            for (net.minecraft.world.item.ItemStack s : player.getInventory().items) toCheck.add(s);
-
-            for (net.minecraft.world.item.ItemStack stack : toCheck) {
-                if (stack.isEmpty()) continue;
-                if (!WirelessTerminalHandler.isLinked(stack)) continue;
-
-                IGrid grid = WirelessTerminalHandler.getLinkedGrid(stack, player.level(), player);
-                if (grid == null) continue;
-
+            IGrid grid = WirelessTerminalHandler.findLinkedGrid(player);
+            if (grid != null) {
                 IActionSource actionSource = new appeng.me.helpers.PlayerSource(player, null);
                 MENetworkFluidHandlerWrapper wrapper = fromGrid(grid, actionSource);
                 if (wrapper != null) {
+                    wrapper.owner = player.getUUID();
                     GTCEUTerminalMod.LOGGER.debug("Connected to ME Network fluid storage via terminal");
                     return wrapper;
                 }
@@ -80,56 +106,144 @@ public class MENetworkFluidHandlerWrapper implements IFluidHandler {
         return null;
     }
 
-    private void updateCache() {
-        long now = System.currentTimeMillis();
-        if (now - lastCacheUpdate < CACHE_DURATION) {
-            return;
+    // ─── Keyed cache ─────────────────────────────────────────────────────────
+    private void validateCache() {
+        var server = ServerLifecycleHooks.getCurrentServer();
+        long tick = server != null ? server.getTickCount() : System.currentTimeMillis() / 50;
+        if (tick != cacheTick) {
+            cacheTick = tick;
+            amounts.clear();
+            snapshot = null;
+            tanks = null;
+        }
+    }
+
+    private MEAvailabilitySnapshot snapshot() {
+        if (snapshot == null) {
+            snapshot = grid != null ? MEAvailabilitySnapshot.of(grid) : MEAvailabilitySnapshot.of(inventory);
         }
+        return snapshot;
+    }
 
-        cachedFluids.clear();
+    // Droplets of a fluid still in the grid (reservations excluded)
+    private long gridAmount(AEFluidKey key) {
+        validateCache();
+        if (!amounts.containsKey(key)) {
+            amounts.put(key, snapshot().get(key));
+        }
+        return amounts.getLong(key);
+    }
 
-        try {
-            // Get all available stacks from the ME Network
-            KeyCounter availableStacks = new KeyCounter();
-            inventory.getAvailableStacks(availableStacks);
-
-            for (var entry : availableStacks) {
-                AEKey key = entry.getKey();
-                long amount = entry.getLongValue();
-
-                if (key instanceof AEFluidKey fluidKey && amount > 0) {
-                    // Convert from AE2's unit (1 droplet) to Forge's unit (1mb)
-                    // AE2 uses droplets where 81000 droplets = 1 bucket = 1000mb
-                    // So 81 droplets = 1mb
-                    int amountMB = (int) (amount / 81);
-
-                    if (amountMB > 0) {
-                        FluidStack stack = new FluidStack(fluidKey.getFluid(), amountMB);
-                        cachedFluids.add(stack);
-                    }
+    // Droplets of a fluid this wrapper can drain: the grid plus what we have reserved
+    private long available(AEFluidKey key) {
+        return gridAmount(key) + reserved.getLong(key);
+    }
+
+    private void tookFromGrid(AEFluidKey key, long requested, long got) {
+        // A short extract means the cached amount was optimistic; nothing more is available this tick
+        amounts.put(key, got < requested ? 0 : Math.max(0, gridAmount(key) - got));
+    }
+
+    private List<AEFluidKey> tanks() {
+        validateCache();
+        if (tanks == null) {
+            List<AEFluidKey> keys = snapshot().keysOfType(AEFluidKey.class);
+            for (AEFluidKey key : reserved.keySet()) {
+                if (!keys.contains(key)) keys.add(key);
+            }
+            tanks = keys;
+        }
+        return tanks;
+    }
+
+    private static int toMB(long droplets) {
+        return (int) Math.min(Integer.MAX_VALUE, droplets / DROPLETS_PER_MB);
+    }
+
+    // ─── Bulk API ────────────────────────────────────────────────────────────
+    /**
+     * Extracts up to {@code mbPerFluid} from the grid in one operation per fluid and holds it for
+     * later drain() calls. Returns the mb actually reserved per fluid.
+     */
+    public Map<Fluid, Integer> reserve(Map<Fluid, Integer> mbPerFluid) {
+        // Fluid a previous release could not return is used first
+        claimUnreturned();
+        Map<Fluid, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<Fluid, Integer> entry : mbPerFluid.entrySet()) {
+            AEFluidKey key = AEFluidKey.of(entry.getKey());
+            long wanted = entry.getValue() * DROPLETS_PER_MB - reserved.getLong(key);
+            long got = 0;
+            if (wanted > 0) {
+                try {
+                    got = inventory.extract(key, wanted, Actionable.MODULATE, actionSource);
+                } catch (Exception e) {
+                    GTCEUTerminalMod.LOGGER.error("Error reserving fluid from ME Network", e);
                 }
             }
+            if (got > 0) {
+                tookFromGrid(key, wanted, got);
+                reserved.addTo(key, got);
+            }
+            result.put(entry.getKey(), toMB(reserved.getLong(key)));
+        }
+        return result;
+    }
 
-            lastCacheUpdate = now;
+    // Returns every unused reservation to the grid; call once the build is done. Fluid the grid
+    // refuses is kept for the player's next reservation (or release) rather than lost
+    public void releaseReserved() {
+        claimUnreturned();
+        Object2LongOpenHashMap<AEFluidKey> refused = new Object2LongOpenHashMap<>();
+        for (Object2LongMap.Entry<AEFluidKey> entry : reserved.object2LongEntrySet()) {
+            long amount = entry.getLongValue();
+            if (amount <= 0) continue;
+            long inserted = 0;
+            try {
+                inserted = inventory.insert(entry.getKey(), amount, Actionable.MODULATE, actionSource);
+            } catch (Exception e) {
+                GTCEUTerminalMod.LOGGER.error("Error returning reserved fluid to ME Network", e);
+            }
+            if (inserted < amount) refused.put(entry.getKey(), amount - inserted);
+        }
+        reserved.clear();
+        amounts.clear();
+        tanks = null;
+
+        if (refused.isEmpty()) return;
+        if (owner != null) {
+            GTCEUTerminalMod.LOGGER.warn("ME Network refused {} reserved fluid type(s); holding them for the next paste",
+                    refused.size());
+            unreturned.put(owner, refused);
+        } else {
+            // Not made for a player: keep it on this wrapper so a later release can retry
+            reserved.putAll(refused);
+        }
+    }
 
-        } catch (Exception e) {
-            GTCEUTerminalMod.LOGGER.error("Error updating ME Network fluid cache", e);
+    private void claimUnreturned() {
+        if (owner == null) return;
+        Object2LongOpenHashMap<AEFluidKey> carried = unreturned.remove(owner);
+        if (carried == null) return;
+        for (Object2LongMap.Entry<AEFluidKey> entry : carried.object2LongEntrySet()) {
+            reserved.addTo(entry.getKey(), entry.getLongValue());
         }
+        tanks = null;
     }
 
+    // ─── IFluidHandler ───────────────────────────────────────────────────────
     @Override
     public int getTanks() {
-        updateCache();
-        return cachedFluids.size();
+        return tanks().size();
     }
 
     @Override
     public @NotNull FluidStack getFluidInTank(int tank) {
-        updateCache();
-        if (tank < 0 || tank >= cachedFluids.size()) {
+        List<AEFluidKey> keys = tanks();
+        if (tank < 0 || tank >= keys.size()) {
             return FluidStack.EMPTY;
         }
-        return cachedFluids.get(tank).copy();
+        int amountMB = toMB(available(keys.get(tank)));
+        return amountMB > 0 ? keys.get(tank).toStack(amountMB) : FluidStack.EMPTY;
     }
 
     @Override
@@ -146,8 +260,30 @@ public class MENetworkFluidHandlerWrapper implements IFluidHandler {
 
     @Override
     public int fill(FluidStack resource, FluidAction action) {
-        // We don't support inserting fluids into ME Network from auto-builder
-        // (only extracting)
+        // Only used to give back fluid a caller drained but could not use: into the reservation if we
+        // hold one for that fluid (released with the rest), otherwise straight back into the grid
+        if (resource == null || resource.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            AEFluidKey fluidKey = AEFluidKey.of(resource);
+            long droplets = resource.getAmount() * DROPLETS_PER_MB;
+            if (reserved.containsKey(fluidKey)) {
+                if (action == FluidAction.EXECUTE) reserved.addTo(fluidKey, droplets);
+                return resource.getAmount();
+            }
+
+            Actionable mode = action == FluidAction.SIMULATE ? Actionable.SIMULATE : Actionable.MODULATE;
+            long inserted = inventory.insert(fluidKey, droplets, mode, actionSource);
+            if (action == FluidAction.EXECUTE && inserted > 0) {
+                amounts.put(fluidKey, gridAmount(fluidKey) + inserted);
+            }
+            return toMB(inserted);
+
+        } catch (Exception e) {
+            GTCEUTerminalMod.LOGGER.error("Error returning fluid to ME Network", e);
+        }
         return 0;
     }
 
@@ -158,39 +294,34 @@ public class MENetworkFluidHandlerWrapper implements IFluidHandler {
         }
 
         try {
-            // Convert from mb (Forge) to droplets (AE2)
-            // 1000mb = 81000 droplets
-            long dropletsRequested = resource.getAmount() * 81L;
+            AEFluidKey fluidKey = AEFluidKey.of(resource);
+            long dropletsRequested = resource.getAmount() * DROPLETS_PER_MB;
 
-            AEFluidKey fluidKey = AEFluidKey.of(resource.getFluid());
+            // Reservations first, then the grid
+            long fromReserve = Math.min(reserved.getLong(fluidKey), dropletsRequested);
+            long fromGrid = dropletsRequested - fromReserve;
 
-            long extracted;
+            long drained;
             if (action == FluidAction.SIMULATE) {
-                // Just check if we can extract
-                extracted = inventory.extract(
-                        fluidKey,
-                        dropletsRequested,
-                        Actionable.SIMULATE,
-                        actionSource
-                );
+                // Reserved fluid is already ours; anything beyond it is a real simulate as the player,
+                // so security and extract-only restrictions still apply
+                long simulated = fromGrid > 0
+                        ? inventory.extract(fluidKey, fromGrid, Actionable.SIMULATE, actionSource)
+                        : 0;
+                drained = fromReserve + simulated;
             } else {
-                // Actually extract
-                extracted = inventory.extract(
-                        fluidKey,
-                        dropletsRequested,
-                        Actionable.MODULATE,
-                        actionSource
-                );
-
-                // Invalidate cache since we modified the network
-                lastCacheUpdate = 0;
+                if (fromReserve > 0) reserved.addTo(fluidKey, -fromReserve);
+                long got = 0;
+                if (fromGrid > 0) {
+                    got = inventory.extract(fluidKey, fromGrid, Actionable.MODULATE, actionSource);
+                    tookFromGrid(fluidKey, fromGrid, got);
+                }
+                drained = fromReserve + got;
             }
 
-            // Convert back from droplets to mb
-            int extractedMB = (int) (extracted / 81);
-
-            if (extractedMB > 0) {
-                return new FluidStack(resource.getFluid(), extractedMB);
+            int drainedMB = toMB(drained);
+            if (drainedMB > 0) {
+                return new FluidStack(resource, drainedMB);
             }
 
         } catch (Exception e) {
@@ -202,45 +333,25 @@ public class MENetworkFluidHandlerWrapper implements IFluidHandler {
 
     @Override
     public @NotNull FluidStack drain(int maxDrain, FluidAction action) {
-        updateCache();
-
         // Drain from the first available fluid
-        if (cachedFluids.isEmpty()) {
-            return FluidStack.EMPTY;
+        for (int tank = 0; tank < getTanks(); tank++) {
+            FluidStack first = getFluidInTank(tank);
+            if (!first.isEmpty()) {
+                return drain(new FluidStack(first, Math.min(maxDrain, first.getAmount())), action);
+            }
         }
-
-        FluidStack first = cachedFluids.get(0);
-        FluidStack toDrain = new FluidStack(first.getFluid(), Math.min(maxDrain, first.getAmount()));
-
-        return drain(toDrain, action);
+        return FluidStack.EMPTY;
     }
 
     public boolean hasFluid(FluidStack fluid) {
         if (fluid == null || fluid.isEmpty()) {
             return false;
         }
-
-        updateCache();
-
-        for (FluidStack stored : cachedFluids) {
-            if (stored.getFluid() == fluid.getFluid() && stored.getAmount() >= fluid.getAmount()) {
-                return true;
-            }
-        }
-
-        return false;
+        return available(AEFluidKey.of(fluid)) >= fluid.getAmount() * DROPLETS_PER_MB;
     }
 
     // Helper method to get the total amount of a specific fluid in the ME Network
-    public int getFluidAmount(net.minecraft.world.level.material.Fluid fluid) {
-        updateCache();
-
-        for (FluidStack stored : cachedFluids) {
-            if (stored.getFluid() == fluid) {
-                return stored.getAmount();
-            }
-        }
-
-        return 0;
+    public int getFluidAmount(Fluid fluid) {
+        return toMB(available(AEFluidKey.of(fluid)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package com.gtceuterminal.common.ae2;
+
+import appeng.api.networking.IGrid;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+
+import com.gtceuterminal.common.network.SPacketStockUpdate;
+import com.gtceuterminal.common.network.TerminalNetwork;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Per-grid stock counts for just the keys a player is currently looking at (the autocraft confirm
+ * screen). Watched keys are refreshed from the grid's cached inventory every few ticks, and any
+ * change is pushed to the watching players instead of the screen re-requesting an analysis.
+ *
+ * AE2's storage watcher service needs an IStorageWatcherNode on a node connected into the grid;
+ * the terminal only reaches grids wirelessly, so watched keys are diffed here instead.
+ *
+ * Uses appeng.* in its signatures, so it is not an event bus subscriber by annotation (Forge would
+ * reflect over it without AE2 installed); AE2Integration.init() registers its handlers instead.
+ */
+public final class MEStockCache {
+
+    private MEStockCache() {}
+
+    private static boolean registered = false;
+
+    // Called from AE2Integration.init(), only when AE2 is loaded
+    static void register() {
+        if (registered) return;
+        registered = true;
+        MinecraftForge.EVENT_BUS.addListener(MEStockCache::onPlayerLogout);
+        MinecraftForge.EVENT_BUS.addListener(MEStockCache::onServerTick);
+    }
+
+    private static final int REFRESH_TICKS = 10;
+    // Watches older than this are dropped (a confirm screen closed without confirming)
+    private static final int WATCH_TIMEOUT_TICKS = 20 * 120;
+
+    // Watched counts of one grid; refs counts how many watches include each key
+    private static final class GridStock {
+        final Object2LongOpenHashMap<AEKey> counts = new Object2LongOpenHashMap<>();
+        final Object2IntOpenHashMap<AEKey> refs = new Object2IntOpenHashMap<>();
+    }
+
+    private record Watch(IGrid grid, Set<AEKey> keys, long startedTick) {}
+
+    private static final Map<IGrid, GridStock> grids = new WeakHashMap<>();
+    private static final Map<UUID, Watch> watches = new HashMap<>();
+    private static long tick = 0;
+
+    // ─── Public API ──────────────────────────────────────────────────────────
+    // Replaces the player's watched keys with these; their counts are primed from one snapshot
+    public static void watch(ServerPlayer player, IGrid grid, Collection<? extends AEKey> keys) {
+        unwatch(player);
+        if (grid == null || keys.isEmpty()) return;
+
+        Set<AEKey> watched = Set.copyOf(keys);
+        GridStock stock = grids.computeIfAbsent(grid, g -> new GridStock());
+        MEAvailabilitySnapshot snapshot = null;
+        for (AEKey key : watched) {
+            if (stock.refs.addTo(key, 1) == 0) {
+                if (snapshot == null) snapshot = MEAvailabilitySnapshot.of(grid);
+                stock.counts.put(key, snapshot.get(key));
+            }
+        }
+        watches.put(player.getUUID(), new Watch(grid, watched, tick));
+    }
+
+    public static void unwatch(ServerPlayer player) {
+        release(watches.remove(player.getUUID()));
+    }
+
+    private static void release(Watch watch) {
+        if (watch == null) return;
+        GridStock stock = grids.get(watch.grid());
+        if (stock == null) return;
+        for (AEKey key : watch.keys()) {
+            if (stock.refs.addTo(key, -1) <= 1) {
+                stock.refs.removeInt(key);
+                stock.counts.removeLong(key);
+            }
+        }
+        if (stock.refs.isEmpty()) grids.remove(watch.grid());
+    }
+
+    // ─── Events ──────────────────────────────────────────────────────────────
+    private static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) unwatch(player);
+    }
+
+    private static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || watches.isEmpty()) return;
+        if (++tick % REFRESH_TICKS != 0) return;
+
+        MinecraftServer server = event.getServer();
+        watches.values().removeIf(w -> {
+            if (tick - w.startedTick() < WATCH_TIMEOUT_TICKS) return false;
+            release(w);
+            return true;
+        });
+
+        for (Map.Entry<IGrid, GridStock> entry : new ArrayList<>(grids.entrySet())) {
+            Set<AEKey> changed = refresh(entry.getKey(), entry.getValue());
+            if (!changed.isEmpty()) push(server, entry.getKey(), entry.getValue(), changed);
+        }
+    }
+
+    // Re-reads every watched key of a grid from one snapshot; returns the keys whose count changed
+    private static Set<AEKey> refresh(IGrid grid, GridStock stock) {
+        MEAvailabilitySnapshot snapshot = MEAvailabilitySnapshot.of(grid);
+        Set<AEKey> changed = new HashSet<>();
+        for (AEKey key : stock.refs.keySet()) {
+            long now = snapshot.get(key);
+            if (stock.counts.put(key, now) != now) changed.add(key);
+        }
+        return changed;
+    }
+
+    private static void push(MinecraftServer server, IGrid grid, GridStock stock, Set<AEKey> changed) {
+        for (Map.Entry<UUID, Watch> entry : watches.entrySet()) {
+            Watch watch = entry.getValue();
+            if (watch.grid() != grid) continue;
+
+            Map<Item, Long> update = new LinkedHashMap<>();
+            for (AEKey key : watch.keys()) {
+                if (changed.contains(key) && key instanceof AEItemKey itemKey) {
+                    update.put(itemKey.getItem(), stock.counts.getLong(key));
+                }
+            }
+            if (update.isEmpty()) continue;
+
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player != null) TerminalNetwork.sendToPlayer(new SPacketStockUpdate(update), player);
+        }
+    }
+
+    // Item keys for a bill of items
+    public static List<AEKey> itemKeys(Collection<Item> items) {
+        List<AEKey> keys = new ArrayList<>(items.size());
+        for (Item item : items) keys.add(AEItemKey.of(item));
+        return keys;
+    }
+}
@@ -0,0 +1,217 @@
+package com.gtceuterminal.common.ae2;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.MEStorage;
+import appeng.me.helpers.PlayerSource;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One all-or-nothing extraction of a bill of items from an ME grid and the player's inventory.
+ * - plan(): a single simulate pass decides, per item, how much comes from the ME network and
+ *   how much from the inventory (ME first). Nothing is touched.
+ * - execute(): takes everything in the plan, journaling each step; if any step comes up short,
+ *   the journal is replayed in reverse and nothing is consumed.
+ * - rollback(): undoes an executed transaction, for callers whose own follow-up step failed.
+ * Amounts stay long end to end, so returns are never capped at a stack or an int.
+ * Uses AE2 classes throughout, so only reach it with AE2 loaded; MENetworkItemExtractor keeps an
+ * AE2-free inventory-only path for when there is no grid.
+ */
+public final class MaterialTransaction {
+
+    // Per-item split decided by plan()
+    private static final class Line {
+        final AEItemKey key;
+        final Item item;
+        final long required;
+        long fromME;
+        long fromInventory;
+
+        Line(AEItemKey key, long required) {
+            this.key = key;
+            this.item = key.getItem();
+            this.required = required;
+        }
+
+        long missing() { return Math.max(0, required - fromME - fromInventory); }
+    }
+
+    // Journal entries, replayed in reverse on rollback
+    private record MEEntry(AEKey key, long amount) {}
+    private record SlotEntry(int slot, ItemStack before) {}
+
+    private final Player player;
+    @Nullable private final MEStorage storage;
+    @Nullable private final IActionSource source; // only with storage
+    private final List<Line> lines = new ArrayList<>();
+
+    private final List<MEEntry> meJournal = new ArrayList<>();
+    private final List<SlotEntry> slotJournal = new ArrayList<>();
+    private boolean executed = false;
+
+    private MaterialTransaction(Player player, @Nullable MEStorage storage) {
+        this.player = player;
+        this.storage = storage;
+        this.source = storage != null ? new PlayerSource(player, null) : null;
+    }
+
+    // ─── Plan ────────────────────────────────────────────────────────────────
+    /**
+     * Plans extracting {@code required} from the grid (may be null) and, if allowed, the player's
+     * main inventory. ME is preferred; the inventory covers whatever the grid cannot.
+     */
+    public static MaterialTransaction plan(@Nullable IGrid grid, Player player,
+                                           Map<Item, Integer> required, boolean useInventory) {
+        Map<AEItemKey, Long> keys = new LinkedHashMap<>();
+        for (Map.Entry<Item, Integer> entry : required.entrySet()) {
+            keys.merge(AEItemKey.of(entry.getKey()), (long) entry.getValue(), Long::sum);
+        }
+        return planKeys(grid, player, keys, useInventory);
+    }
+
+    // Same as plan(), for exact keys (NBT included on the ME side) and long amounts
+    public static MaterialTransaction planKeys(@Nullable IGrid grid, Player player,
+                                               Map<AEItemKey, Long> required, boolean useInventory) {
+        IStorageService service = grid != null ? grid.getStorageService() : null;
+        MaterialTransaction tx = new MaterialTransaction(player, service != null ? service.getInventory() : null);
+
+        Map<Item, Long> inventory = useInventory ? countInventory(player) : Map.of();
+        for (Map.Entry<AEItemKey, Long> entry : required.entrySet()) {
+            Line line = new Line(entry.getKey(), entry.getValue());
+            if (tx.storage != null) {
+                line.fromME = tx.storage.extract(line.key, line.required, Actionable.SIMULATE, tx.source);
+            }
+            // Inventory matches by item, as the inventory fallback always has
+            long inInventory = inventory.getOrDefault(line.item, 0L);
+            line.fromInventory = Math.min(line.required - line.fromME, inInventory);
+            if (line.fromInventory > 0) inventory.put(line.item, inInventory - line.fromInventory);
+            tx.lines.add(line);
+        }
+        return tx;
+    }
+
+    public boolean isSatisfied() {
+        for (Line line : lines) {
+            if (line.missing() > 0) return false;
+        }
+        return true;
+    }
+
+    // Items the plan cannot cover, with the shortfall
+    public Map<Item, Long> missing() {
+        Map<Item, Long> missing = new LinkedHashMap<>();
+        for (Line line : lines) {
+            if (line.missing() > 0) missing.put(line.item, line.missing());
+        }
+        return missing;
+    }
+
+    public MENetworkItemExtractor.ExtractionSource source() {
+        boolean me = false, inventory = false;
+        for (Line line : lines) {
+            me |= line.fromME > 0;
+            inventory |= line.fromInventory > 0;
+        }
+        if (me && inventory) return MENetworkItemExtractor.ExtractionSource.MIXED;
+        if (me) return MENetworkItemExtractor.ExtractionSource.ME_NETWORK;
+        if (inventory) return MENetworkItemExtractor.ExtractionSource.PLAYER_INVENTORY;
+        return MENetworkItemExtractor.ExtractionSource.NONE;
+    }
+
+    // ─── Execute ─────────────────────────────────────────────────────────────
+    // Takes everything in the plan; on any shortfall rolls back and returns false
+    public boolean execute() {
+        if (executed) throw new IllegalStateException("MaterialTransaction already executed");
+        if (!isSatisfied()) return false;
+        executed = true;
+
+        for (Line line : lines) {
+            if (line.fromME > 0) {
+                long got = storage.extract(line.key, line.fromME, Actionable.MODULATE, source);
+                if (got > 0) meJournal.add(new MEEntry(line.key, got));
+                if (got < line.fromME) {
+                    GTCEUTerminalMod.LOGGER.warn("ME extraction of {} came up short: planned {}, got {}",
+                            line.item.getDescription().getString(), line.fromME, got);
+                    rollback();
+                    return false;
+                }
+            }
+            if (line.fromInventory > 0 && takeFromInventory(line.item, line.fromInventory) < line.fromInventory) {
+                GTCEUTerminalMod.LOGGER.warn("Inventory extraction of {} came up short",
+                        line.item.getDescription().getString());
+                rollback();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Undoes every journaled step, newest first
+    public void rollback() {
+        for (int i = slotJournal.size() - 1; i >= 0; i--) {
+            SlotEntry entry = slotJournal.get(i);
+            player.getInventory().setItem(entry.slot(), entry.before());
+        }
+        for (int i = meJournal.size() - 1; i >= 0; i--) {
+            MEEntry entry = meJournal.get(i);
+            long inserted = storage.insert(entry.key(), entry.amount(), Actionable.MODULATE, source);
+            if (inserted < entry.amount()) giveToPlayer(entry.key(), entry.amount() - inserted);
+        }
+        slotJournal.clear();
+        meJournal.clear();
+    }
+
+    // ─── Inventory ───────────────────────────────────────────────────────────
+    private long takeFromInventory(Item item, long amount) {
+        Inventory inventory = player.getInventory();
+        long remaining = amount;
+        for (int slot = 0; slot < inventory.items.size() && remaining > 0; slot++) {
+            ItemStack stack = inventory.items.get(slot);
+            if (stack.isEmpty() || stack.getItem() != item) continue;
+            slotJournal.add(new SlotEntry(slot, stack.copy()));
+            int take = (int) Math.min(remaining, stack.getCount());
+            stack.shrink(take);
+            remaining -= take;
+        }
+        return amount - remaining;
+    }
+
+    private static Map<Item, Long> countInventory(Player player) {
+        Map<Item, Long> counts = new HashMap<>();
+        for (ItemStack stack : player.getInventory().items) {
+            if (!stack.isEmpty()) counts.merge(stack.getItem(), (long) stack.getCount(), Long::sum);
+        }
+        return counts;
+    }
+
+    // Last resort when the grid will not take items back: hand them to the player in stack-sized pieces
+    private void giveToPlayer(AEKey key, long amount) {
+        if (!(key instanceof AEItemKey itemKey)) return;
+        GTCEUTerminalMod.LOGGER.warn("ME network refused {} x{} on rollback; returning to player",
+                itemKey.getItem().getDescription().getString(), amount);
+        int max = itemKey.getItem().getMaxStackSize(itemKey.toStack());
+        while (amount > 0) {
+            int n = (int) Math.min(amount, max);
+            player.getInventory().placeItemBackInInventory(itemKey.toStack(n));
+            amount -= n;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.gtceuterminal.common.ae2;
 
 import appeng.api.implementations.blockentities.IWirelessAccessPoint;
 import appeng.api.networking.IGrid;
+import appeng.items.tools.powered.WirelessTerminalItem;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.GlobalPos;
@@ -13,6 +14,10 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * Handles wireless terminal connection to ME Network via Wireless Access Point
  * Works exactly like AE2's Wireless Terminal
@@ -43,6 +48,109 @@ public class WirelessTerminalHandler {
             return null;
         }
 
+        // Server side: at most one resolution per access point per player per tick
+        if (level.isClientSide || player == null || level != player.level()) {
+            return resolveLinkedGrid(globalPos, level, player);
+        }
+        Resolution resolution = resolution(player);
+        if (resolution.byPos.containsKey(globalPos)) {
+            return resolution.byPos.get(globalPos);
+        }
+        IGrid grid = resolveLinkedGrid(globalPos, level, player);
+        resolution.byPos.put(globalPos, grid);
+        return grid;
+    }
+
+    // Grid of the first linked, in-range item in the player's hands or inventory, or null
+    @Nullable
+    public static IGrid findLinkedGrid(Player player) {
+        if (player.level().isClientSide) {
+            return scanForLinkedGrid(player);
+        }
+        Resolution resolution = resolution(player);
+        if (!resolution.scanned) {
+            resolution.scannedGrid = scanForLinkedGrid(player);
+            resolution.scanned = true;
+        }
+        return resolution.scannedGrid;
+    }
+
+    /**
+     * Grid of the first AE2 wireless terminal in the player's hands or inventory, resolved through
+     * AE2's own WirelessTerminalItem.getLinkedGrid (AE2's rules, not the access-point range check
+     * above). Cached per tick like findLinkedGrid.
+     */
+    @Nullable
+    public static IGrid findAE2TerminalGrid(Player player) {
+        if (player.level().isClientSide) {
+            return scanForAE2TerminalGrid(player);
+        }
+        Resolution resolution = resolution(player);
+        if (!resolution.terminalScanned) {
+            resolution.terminalGrid = scanForAE2TerminalGrid(player);
+            resolution.terminalScanned = true;
+        }
+        return resolution.terminalGrid;
+    }
+
+    @Nullable
+    private static IGrid scanForAE2TerminalGrid(Player player) {
+        IGrid grid = ae2TerminalGrid(player.getMainHandItem(), player);
+        if (grid == null) grid = ae2TerminalGrid(player.getOffhandItem(), player);
+        for (int i = 0; grid == null && i < player.getInventory().items.size(); i++) {
+            grid = ae2TerminalGrid(player.getInventory().items.get(i), player);
+        }
+        return grid;
+    }
+
+    @Nullable
+    private static IGrid ae2TerminalGrid(ItemStack stack, Player player) {
+        if (!isWirelessTerminal(stack) || !isLinked(stack)) return null;
+        return ((WirelessTerminalItem) stack.getItem()).getLinkedGrid(stack, player.level(), player);
+    }
+
+    @Nullable
+    private static IGrid scanForLinkedGrid(Player player) {
+        IGrid grid = getLinkedGrid(player.getMainHandItem(), player.level(), player);
+        if (grid == null) grid = getLinkedGrid(player.getOffhandItem(), player.level(), player);
+        for (int i = 0; grid == null && i < player.getInventory().items.size(); i++) {
+            grid = getLinkedGrid(player.getInventory().items.get(i), player.level(), player);
+        }
+        return grid;
+    }
+
+    // ─── Per-tick resolution cache ───────────────────────────────────────────
+    // Valid for one game tick and one inventory version; null grids are cached too
+    private static final class Resolution {
+        long gameTime = Long.MIN_VALUE;
+        int inventoryVersion;
+        final Map<GlobalPos, IGrid> byPos = new HashMap<>(4);
+        boolean scanned;
+        @Nullable IGrid scannedGrid;
+        boolean terminalScanned;
+        @Nullable IGrid terminalGrid;
+    }
+
+    private static final Map<Player, Resolution> resolutions = new WeakHashMap<>();
+
+    private static Resolution resolution(Player player) {
+        Resolution resolution = resolutions.computeIfAbsent(player, p -> new Resolution());
+        long gameTime = player.level().getGameTime();
+        int inventoryVersion = player.getInventory().getTimesChanged();
+        if (resolution.gameTime != gameTime || resolution.inventoryVersion != inventoryVersion) {
+            resolution.gameTime = gameTime;
+            resolution.inventoryVersion = inventoryVersion;
+            resolution.byPos.clear();
+            resolution.scanned = false;
+            resolution.scannedGrid = null;
+            resolution.terminalScanned = false;
+            resolution.terminalGrid = null;
+        }
+        return resolution;
+    }
+
+    @Nullable
+    private static IGrid resolveLinkedGrid(GlobalPos globalPos, Level level, Player player) {
         // Check if we're in the right dimension
         if (!level.dimension().equals(globalPos.dimension())) {
             return null;
@@ -21,8 +21,8 @@ public final class AnalysisResult {
     public static final class Entry {
         // The item needed
         public final ItemStack stack;   // count = amount needed
-        // How many the ME network has in stock right now
-        public final long inME;
+        // How many the ME network has in stock; kept live on the client by SPacketStockUpdate
+        public long inME;
         // Whether AE2 has a crafting pattern for this item
         public final boolean craftable;
 
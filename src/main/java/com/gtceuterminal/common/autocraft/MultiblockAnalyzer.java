@@ -1,6 +1,8 @@
 package com.gtceuterminal.common.autocraft;
 
 import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.ae2.MEAvailabilitySnapshot;
+import com.gtceuterminal.common.ae2.MEStockCache;
 import com.gtceuterminal.common.ae2.WirelessTerminalHandler;
 import com.gtceuterminal.common.material.ComponentUpgradeHelper;
 import com.gtceuterminal.common.multiblock.ComponentInfo;
@@ -25,6 +27,7 @@ import appeng.api.stacks.AEItemKey;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
@@ -179,6 +182,7 @@ public final class MultiblockAnalyzer {
         IGrid grid = getGrid(player);
         IStorageService   storage  = grid != null ? grid.getStorageService()   : null;
         ICraftingService  crafting = grid != null ? grid.getCraftingService()   : null;
+        MEAvailabilitySnapshot available = MEAvailabilitySnapshot.of(grid);
 
         List<AnalysisResult.Entry> entries = new ArrayList<>();
         for (Map.Entry<Item, Integer> e : needed.entrySet()) {
@@ -188,7 +192,7 @@ public final class MultiblockAnalyzer {
 
             if (storage != null) {
                 AEItemKey key = AEItemKey.of(stack);
-                inME      = storage.getInventory().getAvailableStacks().get(key);
+                inME      = available.get(key);
                 if (crafting != null) {
                     try {
                         // isCraftable signature varies across AE2 15.x patch versions
@@ -204,6 +208,11 @@ public final class MultiblockAnalyzer {
             entries.add(new AnalysisResult.Entry(stack, inME, craftable));
         }
 
+        // The confirm screen shows these counts; keep them live while it is open
+        if (grid != null && player instanceof ServerPlayer serverPlayer) {
+            MEStockCache.watch(serverPlayer, grid, MEStockCache.itemKeys(needed.keySet()));
+        }
+
         return new AnalysisResult(entries, controllerPos);
     }
 
@@ -211,26 +220,12 @@ public final class MultiblockAnalyzer {
 
     private static IGrid getGrid(Player player) {
         try {
-            // Find a linked wireless terminal in hands or inventory
-            for (ItemStack s : allStacks(player)) {
-                if (WirelessTerminalHandler.isWirelessTerminal(s)
-                        && WirelessTerminalHandler.isLinked(s)) {
-                    IGrid g = WirelessTerminalHandler.getLinkedGrid(s, player.level(), player);
-                    if (g != null) return g;
-                }
-            }
+            // Linked terminal in hands or inventory, resolved at most once per tick
+            return WirelessTerminalHandler.findLinkedGrid(player);
         } catch (Exception ignored) {}
         return null;
     }
 
-    private static Iterable<ItemStack> allStacks(Player player) {
-        List<ItemStack> all = new ArrayList<>();
-        all.add(player.getMainHandItem());
-        all.add(player.getOffhandItem());
-        all.addAll(player.getInventory().items);
-        return all;
-    }
-
     // ── Pattern helpers (mirrors AdvancedAutoBuilder) ─────────────────────────
 
     private static int getRepetitions(int slice, int[][] aisleReps, int repeatCount) {
@@ -2,6 +2,13 @@ package com.gtceuterminal.common.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMaps;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +29,9 @@ public class CoilConfig {
     private static List<CoilEntry> allCoils = new ArrayList<>();
     private static boolean initialized = false;
 
+    // Block -> coil tier, -1 when the block is not a configured coil. Rebuilt with the config.
+    private static volatile Reference2IntMap<Block> tierByBlock = emptyTierMap();
+
     public static class CoilEntry {
         public String blockId;
         public String displayName;
@@ -77,6 +87,7 @@ public class CoilConfig {
             loadConfig(configPath);
         }
 
+        rebuildTierMap();
         LOGGER.info("Coil configuration initialized: {} entries", allCoils.size());
         initialized = true;
     }
@@ -220,18 +231,43 @@ public class CoilConfig {
         return coil != null ? coil.displayName : "Unknown Coil";
     }
 
-    public static int getCoilTier(net.minecraft.world.level.block.state.BlockState state) {
+    public static int getCoilTier(BlockState state) {
         if (state == null) return -1;
+        return getCoilTier(state.getBlock());
+    }
 
-        String blockId = net.minecraft.core.registries.BuiltInRegistries.BLOCK
-                .getKey(state.getBlock()).toString();
+    public static int getCoilTier(Block block) {
+        if (!initialized) initialize();
+        return tierByBlock.getInt(block);
+    }
 
-        for (CoilEntry coil : getAllCoils()) {
-            if (coil.blockId.equals(blockId)) {
-                return coil.tier;
-            }
+    // Read-only Block -> tier view (default -1) for callers testing many blocks in a row,
+    // e.g. the scanner's flood fill. Fetch once per batch; it is replaced on reload.
+    public static Reference2IntMap<Block> getCoilTierLookup() {
+        if (!initialized) initialize();
+        return tierByBlock;
+    }
+
+    private static void rebuildTierMap() {
+        Reference2IntOpenHashMap<Block> map = new Reference2IntOpenHashMap<>();
+        map.defaultReturnValue(-1);
+
+        for (CoilEntry coil : allCoils) {
+            if (coil.blockId == null) continue;
+            ResourceLocation id = ResourceLocation.tryParse(coil.blockId);
+            if (id == null) continue;
+            // First entry wins, matching the old linear search
+            BuiltInRegistries.BLOCK.getOptional(id).ifPresent(block -> {
+                if (!map.containsKey(block)) map.put(block, coil.tier);
+            });
         }
 
-        return -1;
+        tierByBlock = Reference2IntMaps.unmodifiable(map);
+    }
+
+    private static Reference2IntMap<Block> emptyTierMap() {
+        Reference2IntOpenHashMap<Block> map = new Reference2IntOpenHashMap<>();
+        map.defaultReturnValue(-1);
+        return Reference2IntMaps.unmodifiable(map);
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.gtceuterminal.common.config;
 
 import com.gtceuterminal.common.multiblock.ComponentType;
 
+import java.util.regex.Pattern;
+
 // Represents a pattern for matching block IDs to component types
 public class ComponentPattern {
     
@@ -10,6 +12,8 @@ public class ComponentPattern {
     private int priority = 50; // Higher = evaluated first
     private String displayPrefix; // Optional prefix like "4A", "16A"
     private String description;
+    // Compiled form of the wildcard pattern; rebuilt lazily when the pattern changes
+    private transient Pattern compiled;
     
     // Constructors
     public ComponentPattern() {}
@@ -27,17 +31,25 @@ public class ComponentPattern {
 
     public boolean matches(String blockId) {
         if (blockId == null || pattern == null) return false;
-        return wildcardMatch(blockId.toLowerCase(), pattern.toLowerCase());
+        return compile().matcher(blockId.toLowerCase()).matches();
+    }
+
+    // Compiles the wildcard pattern once; called eagerly by ComponentPatternRegistry.loadPatterns()
+    public Pattern compile() {
+        Pattern p = compiled;
+        if (p == null) {
+            p = Pattern.compile(toRegex(pattern.toLowerCase()));
+            compiled = p;
+        }
+        return p;
     }
 
-    private boolean wildcardMatch(String text, String pattern) {
+    private static String toRegex(String pattern) {
         // Convert wildcard pattern to regex
-        String regex = pattern
+        return pattern
             .replace(".", "\\.")  // Escape dots
             .replace("*", ".*")   // * becomes .*
             .replace("?", ".");   // ? becomes .
-        
-        return text.matches(regex);
     }
 
     public String getDisplayName() {
@@ -55,6 +67,7 @@ public class ComponentPattern {
     
     public void setPattern(String pattern) {
         this.pattern = pattern;
+        this.compiled = null;
     }
     
     public ComponentType getComponentType() {
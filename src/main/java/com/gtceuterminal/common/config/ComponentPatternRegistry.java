@@ -1,15 +1,21 @@
 package com.gtceuterminal.common.config;
 
 import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.scanner.ComponentClassifier;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Registry for component patterns
 public class ComponentPatternRegistry {
     
     private static final List<ComponentPattern> patterns = new ArrayList<>();
+    // findMatch results per block id; cleared whenever the pattern list changes
+    private static final Map<String, Optional<ComponentPattern>> matchCache = new ConcurrentHashMap<>();
     private static boolean initialized = false;
     
     // Initialize the registry (load patterns from config)
@@ -24,6 +30,7 @@ public class ComponentPatternRegistry {
     // Load patterns from config files
     public static void loadPatterns() {
         patterns.clear();
+        matchCache.clear();
         
         try {
             // Load default patterns
@@ -34,6 +41,20 @@ public class ComponentPatternRegistry {
             
             // Sort by priority (highest first)
             patterns.sort(Comparator.comparingInt(ComponentPattern::getPriority).reversed());
+
+            // Compile every wildcard up front so matching never builds a regex
+            patterns.removeIf(pattern -> {
+                if (pattern.getPattern() == null) return false;
+                try {
+                    pattern.compile();
+                    return false;
+                } catch (Exception e) {
+                    GTCEUTerminalMod.LOGGER.warn("Ignoring invalid component pattern '{}': {}",
+                            pattern.getPattern(), e.getMessage());
+                    return true;
+                }
+            });
+            matchCache.clear();
             
             GTCEUTerminalMod.LOGGER.info("Loaded {} component patterns", patterns.size());
             
@@ -55,18 +76,21 @@ public class ComponentPatternRegistry {
     public static void reload() {
         GTCEUTerminalMod.LOGGER.info("Reloading component patterns");
         loadPatterns();
+        ComponentClassifier.rebuild();
     }
 
     public static ComponentPattern findMatch(String blockId) {
         if (blockId == null) return null;
-        
+        return matchCache.computeIfAbsent(blockId, ComponentPatternRegistry::findMatchUncached).orElse(null);
+    }
+
+    private static Optional<ComponentPattern> findMatchUncached(String blockId) {
         for (ComponentPattern pattern : patterns) {
             if (pattern.matches(blockId)) {
-                return pattern;
+                return Optional.of(pattern);
             }
         }
-        
-        return null;
+        return Optional.empty();
     }
 
     public static List<ComponentPattern> findAllMatches(String blockId) {
@@ -84,8 +108,10 @@ public class ComponentPatternRegistry {
     }
 
     public static void registerPattern(ComponentPattern pattern) {
+        if (pattern.getPattern() != null) pattern.compile();
         patterns.add(pattern);
         patterns.sort(Comparator.comparingInt(ComponentPattern::getPriority).reversed());
+        matchCache.clear();
     }
 
     public static List<ComponentPattern> getAllPatterns() {
@@ -98,5 +124,6 @@ public class ComponentPatternRegistry {
 
     public static void clear() {
         patterns.clear();
+        matchCache.clear();
     }
 }
\ No newline at end of file
@@ -14,12 +14,18 @@ public class ItemsConfig {
     private static int     ea_refreshIntervalTicks = 20;
     private static boolean ea_showPerHatchDetails  = true;
     private static int     ea_historySeconds       = 30;
+    private static int     ea_sampleIntervalTicks  = 20;
+    private static int     ea_samplerBudgetMicros  = 1000;
+    private static boolean ea_persistHistory       = true;
+    private static int     ea_retentionDays        = 14;
+    private static int     ea_targetExpiryMinutes  = 30;
 
     // ─── Multi Structure Manager ──────────────────────────────────────────────
     private static int     mgr_maxDetectedMultiblocks = 32;
     private static boolean mgr_allowMENetworkUpgrade  = true;
     private static int     mgr_highlightDurationSec   = 10;
     private static int     mgr_highlightColor         = 0x00AAFF;
+    private static boolean mgr_parallelAnalysis       = true;
 
     // ─── Schematic Interface ──────────────────────────────────────────────────
     private static boolean sch_allowAE2ConfigCopy    = true;
@@ -38,6 +44,16 @@ public class ItemsConfig {
                         "[Energy Analyzer] Show per-hatch energy breakdown in the UI"),
                 YamlConfigLoader.ConfigEntry.of("energy_analyzer.history_seconds", 30,
                         "[Energy Analyzer] Seconds of energy history to graph (5-120)"),
+                YamlConfigLoader.ConfigEntry.of("energy_analyzer.sample_interval_ticks", 20,
+                        "[Energy Analyzer] How often every linked machine is sampled in the background, in ticks (5-200)"),
+                YamlConfigLoader.ConfigEntry.of("energy_analyzer.sampler_budget_micros", 1000,
+                        "[Energy Analyzer] Maximum time the background sampler may spend per server tick, in microseconds (100-20000)"),
+                YamlConfigLoader.ConfigEntry.of("energy_analyzer.persist_history", true,
+                        "[Energy Analyzer] Store energy history on disk so graphs survive restarts"),
+                YamlConfigLoader.ConfigEntry.of("energy_analyzer.retention_days", 14,
+                        "[Energy Analyzer] Days of stored energy history to keep (1-365)"),
+                YamlConfigLoader.ConfigEntry.of("energy_analyzer.target_expiry_minutes", 30,
+                        "[Energy Analyzer] Stop sampling a machine no carried analyzer or open UI has referenced for this many minutes (1-1440)"),
 
                 // Multi Structure Manager
                 YamlConfigLoader.ConfigEntry.of("manager.max_detected_multiblocks", 32,
@@ -48,6 +64,8 @@ public class ItemsConfig {
                         "[Manager] How long the multiblock highlight lasts in the world after clicking (seconds, 1-60)"),
                 YamlConfigLoader.ConfigEntry.of("manager.highlight_color", "00AAFF",
                         "[Manager] Highlight color as hex RGB, e.g. 00AAFF = blue, FFAA00 = orange, 00FF88 = green"),
+                YamlConfigLoader.ConfigEntry.of("manager.parallel_analysis", true,
+                        "[Manager] Analyse detected multiblocks on background worker threads instead of the server thread"),
 
                 // Schematic Interface
                 YamlConfigLoader.ConfigEntry.of("schematic.allow_ae2_config_copy", true,
@@ -61,12 +79,18 @@ public class ItemsConfig {
         ea_refreshIntervalTicks = clamp(LOADER.getInt("energy_analyzer.refresh_interval_ticks", 20), 5, 200);
         ea_showPerHatchDetails  = LOADER.getBoolean("energy_analyzer.show_per_hatch_details", true);
         ea_historySeconds       = clamp(LOADER.getInt("energy_analyzer.history_seconds", 30), 5, 120);
+        ea_sampleIntervalTicks  = clamp(LOADER.getInt("energy_analyzer.sample_interval_ticks", 20), 5, 200);
+        ea_samplerBudgetMicros  = clamp(LOADER.getInt("energy_analyzer.sampler_budget_micros", 1000), 100, 20000);
+        ea_persistHistory       = LOADER.getBoolean("energy_analyzer.persist_history", true);
+        ea_retentionDays        = clamp(LOADER.getInt("energy_analyzer.retention_days", 14), 1, 365);
+        ea_targetExpiryMinutes  = clamp(LOADER.getInt("energy_analyzer.target_expiry_minutes", 30), 1, 1440);
 
         // ── Read Multi Structure Manager ──────────────────────────────────────
         mgr_maxDetectedMultiblocks = clamp(LOADER.getInt("manager.max_detected_multiblocks", 32), 1, 128);
         mgr_allowMENetworkUpgrade  = LOADER.getBoolean("manager.allow_me_network_upgrade", true);
         mgr_highlightDurationSec   = clamp(LOADER.getInt("manager.highlight_duration_seconds", 10), 1, 60);
         mgr_highlightColor         = parseHexColor(LOADER.getString("manager.highlight_color", "00AAFF"), 0x00AAFF);
+        mgr_parallelAnalysis       = LOADER.getBoolean("manager.parallel_analysis", true);
 
         // ── Read Schematic Interface ──────────────────────────────────────────
         sch_allowAE2ConfigCopy     = LOADER.getBoolean("schematic.allow_ae2_config_copy", true);
@@ -85,6 +109,11 @@ public class ItemsConfig {
     public static int     getEARefreshIntervalTicks() { return ea_refreshIntervalTicks; }
     public static boolean getEAShowPerHatchDetails()  { return ea_showPerHatchDetails; }
     public static int     getEAHistorySeconds()       { return ea_historySeconds; }
+    public static int     getEASampleIntervalTicks()  { return ea_sampleIntervalTicks; }
+    public static int     getEASamplerBudgetMicros()  { return ea_samplerBudgetMicros; }
+    public static boolean isEAPersistHistory()        { return ea_persistHistory; }
+    public static int     getEARetentionDays()        { return ea_retentionDays; }
+    public static int     getEATargetExpiryMinutes()  { return ea_targetExpiryMinutes; }
     // Kept for backward compatibility — dimension filtering removed but callers still compile
     public static boolean isEADimensionAllowed(String dimensionId) { return true; }
 
@@ -93,6 +122,7 @@ public class ItemsConfig {
     public static boolean isMgrAllowMENetworkUpgrade()    { return mgr_allowMENetworkUpgrade; }
     public static int     getMgrHighlightDurationMs()     { return mgr_highlightDurationSec * 1000; }
     public static int     getMgrHighlightColor()          { return mgr_highlightColor; }
+    public static boolean isMgrParallelAnalysis()         { return mgr_parallelAnalysis; }
 
     // ─── Schematic Interface Getters ──────────────────────────────────────────
     public static boolean isSchAllowAE2ConfigCopy()     { return sch_allowAE2ConfigCopy; }
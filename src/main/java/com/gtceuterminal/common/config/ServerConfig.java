@@ -11,6 +11,7 @@ public class ServerConfig {
     public static final ForgeConfigSpec.IntValue MULTIBLOCK_SCAN_RADIUS;
     public static final ForgeConfigSpec.BooleanValue ENABLE_AE2_INTEGRATION;
     public static final ForgeConfigSpec.BooleanValue ENABLE_DEBUG_LOGGING;
+    public static final ForgeConfigSpec.IntValue MAX_TRACKED_MACHINES;
 
     static {
         ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
@@ -30,6 +31,10 @@ public class ServerConfig {
                 .comment("Enable debug logging for troubleshooting (default: false)")
                 .define("enableDebugLogging", false);
 
+        MAX_TRACKED_MACHINES = builder
+                .comment("Maximum machines whose energy flow is tracked between samples (default: 1000)")
+                .defineInRange("maxTrackedMachines", 1000, 64, 100000);
+
         builder.pop();
 
         SPEC = builder.build();
@@ -46,4 +51,8 @@ public class ServerConfig {
     public static boolean isDebugLoggingEnabled() {
         return ENABLE_DEBUG_LOGGING.get();
     }
-}
\ No newline at end of file
+
+    public static int getMaxTrackedMachines() {
+        return MAX_TRACKED_MACHINES.get();
+    }
+}
@@ -3,6 +3,7 @@ package com.gtceuterminal.common.energy;
 import com.gtceuterminal.GTCEUTerminalMod;
 import com.gtceuterminal.common.config.ItemsConfig;
 import com.gtceuterminal.common.multiblock.MachineInferencer;
+import com.gtceuterminal.common.util.MachineAccessors;
 
 import com.gregtechceu.gtceu.api.capability.GTCapabilityHelper;
 import com.gregtechceu.gtceu.api.capability.IEnergyContainer;
@@ -15,8 +16,14 @@ import com.gregtechceu.gtceu.api.misc.EnergyContainerList;
 import com.gregtechceu.gtceu.common.machine.multiblock.electric.PowerSubstationMachine;
 import com.gregtechceu.gtceu.api.machine.feature.IRecipeLogicMachine;
 import com.gregtechceu.gtceu.api.machine.trait.RecipeLogic;
+import com.gregtechceu.gtceu.api.recipe.GTRecipe;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
@@ -27,10 +34,7 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.registries.ForgeRegistries;
 
-import java.lang.reflect.Field;
 import java.math.BigInteger;
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,44 +42,42 @@ import java.util.Map;
 @Mod.EventBusSubscriber(modid = com.gtceuterminal.GTCEUTerminalMod.MOD_ID)
 public class EnergyDataCollector {
 
-    private static final Map<String, Deque<Long>> inputHistoryMap  = new HashMap<>();
-    private static final Map<String, Deque<Long>> outputHistoryMap = new HashMap<>();
+    // Per-machine input/output history (raw samples + minute/hour rollups), keyed by dimension then BlockPos.asLong
+    private record MachineHistory(EnergyHistoryBuffer input, EnergyHistoryBuffer output,
+                                  EnergyRollup inputRollup, EnergyRollup outputRollup) {}
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<MachineHistory>> historyByDimension =
+            new HashMap<>();
+
+    // Last collected snapshot per machine, served (flagged stale) while its chunk is not loaded.
+    // Deliberately kept across level unloads; dropped with the machine's sampler target.
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<EnergySnapshot>> lastCollected =
+            new HashMap<>();
+
+    // One on-disk rollup rebuild per dimension per level load: a token for the read, then the rollups
+    // it found for machines that have no history yet, claimed as their histories are created
+    private static final Map<ResourceKey<Level>, Object> backfillRead = new HashMap<>();
+    private static final Map<ResourceKey<Level>, Long2ObjectMap<EnergyHistoryStore.Rollups>> backfillUnclaimed =
+            new HashMap<>();
 
     @SubscribeEvent
     public static void onLevelUnload(LevelEvent.Unload event) {
-        if (!event.getLevel().isClientSide()) {
-            inputHistoryMap.clear();
-            outputHistoryMap.clear();
+        if (event.getLevel() instanceof ServerLevel level) {
+            historyByDimension.remove(level.dimension());
+            backfillRead.remove(level.dimension());
+            backfillUnclaimed.remove(level.dimension());
             com.gtceuterminal.GTCEUTerminalMod.LOGGER.debug(
-                    "EnergyDataCollector: cleared history maps on level unload");
-        }
-    }
-
-    // Cached reflection fields — obtained once to avoid per-tick getDeclaredField overhead.
-    private static final Field PROGRESS_FIELD;
-    private static final Field LAST_RECIPE_FIELD;
-
-    static {
-        Field pf = null, rf = null;
-        try {
-            pf = RecipeLogic.class.getDeclaredField("progress");
-            pf.setAccessible(true);
-        } catch (Exception e) {
-            GTCEUTerminalMod.LOGGER.warn("EnergyDataCollector: could not cache RecipeLogic.progress", e);
+                    "EnergyDataCollector: cleared history for {} on level unload", level.dimension().location());
         }
-        try {
-            rf = RecipeLogic.class.getDeclaredField("lastRecipe");
-            rf.setAccessible(true);
-        } catch (Exception e) {
-            GTCEUTerminalMod.LOGGER.warn("EnergyDataCollector: could not cache RecipeLogic.lastRecipe", e);
-        }
-        PROGRESS_FIELD = pf;
-        LAST_RECIPE_FIELD = rf;
     }
 
     // ─── Main entry point ────────────────────────────────────────────────────
+    // Never loads a chunk: for a machine whose chunk is not loaded this returns its last collected
+    // snapshot flagged stale, or null if it has never been collected.
     public static EnergySnapshot collect(ServerLevel level, BlockPos pos,
                                          String customName, String controllerBlockKey) {
+        if (!level.isLoaded(pos)) return lastKnown(level.dimension(), pos);
+
         EnergySnapshot snap = new EnergySnapshot();
         snap.machineCustomName = customName != null ? customName : "";
         snap.machineTypeKey = typeKeyFromControllerBlock(level, pos, controllerBlockKey);
@@ -169,20 +171,41 @@ public class EnergyDataCollector {
                 }
             }
 
-            // History — use dimension + position as key to avoid collisions between
+            // History — keyed by dimension + position to avoid collisions between
             // machines with the same custom name in different dimensions or locations.
-            String key = historyKey(level, pos);
-            int maxH = ItemsConfig.getEAHistorySeconds();
-            snap.inputHistory  = updateHistory(inputHistoryMap,  key, snap.inputPerSec,  maxH);
-            snap.outputHistory = updateHistory(outputHistoryMap, key, snap.outputPerSec, maxH);
+            MachineHistory history = history(level, pos, ItemsConfig.getEAHistorySeconds());
+            history.input().append(snap.inputPerSec);
+            history.output().append(snap.outputPerSec);
+            long now = System.currentTimeMillis();
+            history.inputRollup().append(snap.inputPerSec, now);
+            history.outputRollup().append(snap.outputPerSec, now);
+            EnergyHistoryStore.append(level.dimension(), pos, now, snap.inputPerSec, snap.outputPerSec);
+            snap.inputHistory  = history.input().toArray();
+            snap.outputHistory = history.output().toArray();
+            snap.historySeq    = history.input().appended();
 
         } catch (Exception e) {
             GTCEUTerminalMod.LOGGER.error("Error collecting energy snapshot at {}", pos, e);
         }
 
+        lastCollected.computeIfAbsent(level.dimension(), k -> new Long2ObjectOpenHashMap<>()).put(pos.asLong(), snap);
         return snap;
     }
 
+    // Last collected snapshot of a machine, flagged stale, or null if it was never collected.
+    // The stale copy is cached so repeated reads share one snapshot (and its encoding).
+    public static EnergySnapshot lastKnown(ResourceKey<Level> dimension, BlockPos pos) {
+        Long2ObjectOpenHashMap<EnergySnapshot> byPos = lastCollected.get(dimension);
+        if (byPos == null) return null;
+        EnergySnapshot last = byPos.get(pos.asLong());
+        if (last == null || last.stale) return last;
+
+        EnergySnapshot stale = last.copy();
+        stale.stale = true;
+        byPos.put(pos.asLong(), stale);
+        return stale;
+    }
+
     /** Block description id for UI; uses world block if present else registry key from link data. */
     private static String typeKeyFromControllerBlock(ServerLevel level, BlockPos pos, String controllerBlockKey) {
         var state = level.getBlockState(pos);
@@ -207,21 +230,21 @@ public class EnergyDataCollector {
             snap.isRecipeActive = logic.isWorking();
             snap.recipeDuration = logic.getMaxProgress();
             // Read progress ticks directly for accuracy (field is protected)
-            try {
-                int progressTicks = PROGRESS_FIELD != null ? (int) PROGRESS_FIELD.get(logic) : 0;
+            if (MachineAccessors.hasProgressField()) {
+                int progressTicks = MachineAccessors.progress(logic);
                 snap.recipeProgress = snap.recipeDuration > 0
                         ? (float) progressTicks / snap.recipeDuration : 0f;
                 snap.recipeProgressTicks = progressTicks;
-            } catch (Exception e2) {
+            } else {
                 snap.recipeProgress = (float) logic.getProgressPercent();
                 snap.recipeProgressTicks = (int)(snap.recipeProgress * snap.recipeDuration);
             }
 
             if (logic.isWorking() || logic.isWaiting()) {
-                // lastRecipe is protected — use cached reflection field
+                // lastRecipe is protected — read through the shared accessor
                 try {
-                    Object recipeObj = LAST_RECIPE_FIELD != null ? LAST_RECIPE_FIELD.get(logic) : null;
-                    if (recipeObj instanceof com.gregtechceu.gtceu.api.recipe.GTRecipe recipe) {
+                    GTRecipe recipe = MachineAccessors.lastRecipe(logic);
+                    if (recipe != null) {
                         // Prefer output item display name over recipe path
                         snap.recipeId = getOutputName(recipe);
 
@@ -324,21 +347,108 @@ public class EnergyDataCollector {
     }
 
     // ─── History helpers ──────────────────────────────────────────────────────
-    private static long[] updateHistory(Map<String, Deque<Long>> map, String key,
-                                        long value, int maxSize) {
-        Deque<Long> deque = map.computeIfAbsent(key, k -> new ArrayDeque<>());
-        deque.addLast(value);
-        while (deque.size() > maxSize) deque.pollFirst();
-        return deque.stream().mapToLong(Long::longValue).toArray();
+    private static MachineHistory history(ServerLevel level, BlockPos pos, int capacity) {
+        Long2ObjectOpenHashMap<MachineHistory> byPos =
+                historyByDimension.computeIfAbsent(level.dimension(), k -> new Long2ObjectOpenHashMap<>());
+        MachineHistory history = byPos.get(pos.asLong());
+        if (history == null) {
+            history = new MachineHistory(
+                    new EnergyHistoryBuffer(capacity), new EnergyHistoryBuffer(capacity),
+                    new EnergyRollup(), new EnergyRollup());
+            byPos.put(pos.asLong(), history);
+            backfillRollups(level, pos, history);
+        }
+        // history_seconds may have been changed by a config reload
+        history.input().resize(capacity);
+        history.output().resize(capacity);
+        return history;
     }
 
-    private static String historyKey(Level level, BlockPos pos) {
-        return level.dimension().location() + ":" + pos.getX() + "," + pos.getY() + "," + pos.getZ();
+    // Refills a new history's rollups from the on-disk store, so the day/week views survive restarts
+    // and level unloads. The first history of a dimension starts one read covering every sampled
+    // machine there; later ones claim their share of it. Only records older than the read's start
+    // are used, and no machine records before its history exists, so nothing is counted twice.
+    private static void backfillRollups(ServerLevel level, BlockPos pos, MachineHistory history) {
+        if (!EnergyHistoryStore.isOpen()) return;
+        ResourceKey<Level> dimension = level.dimension();
+
+        Long2ObjectMap<EnergyHistoryStore.Rollups> unclaimed = backfillUnclaimed.get(dimension);
+        if (unclaimed != null) {
+            EnergyHistoryStore.Rollups rollups = unclaimed.remove(pos.asLong());
+            if (rollups != null) mergeRollups(history, rollups);
+            return;
+        }
+        if (backfillRead.containsKey(dimension)) return; // in flight; applied to every history when it lands
+
+        LongSet positions = EnergySampler.positions(level.getServer(), dimension);
+        positions.add(pos.asLong());
+        long now = System.currentTimeMillis();
+        long from = now - EnergyRollup.Resolution.HOUR.bucketMillis * EnergyRollup.Resolution.HOUR.buckets;
+        Object read = new Object();
+        backfillRead.put(dimension, read);
+        EnergyHistoryStore.readRollups(dimension, positions, from, now).thenAccept(found ->
+                level.getServer().execute(() -> {
+                    // Dropped if the level unloaded (and maybe reloaded) while reading
+                    if (backfillRead.get(dimension) != read) return;
+                    Long2ObjectOpenHashMap<MachineHistory> byPos = historyByDimension.get(dimension);
+                    if (byPos != null) {
+                        for (Long2ObjectMap.Entry<MachineHistory> entry : byPos.long2ObjectEntrySet()) {
+                            EnergyHistoryStore.Rollups rollups = found.remove(entry.getLongKey());
+                            if (rollups != null) mergeRollups(entry.getValue(), rollups);
+                        }
+                    }
+                    backfillUnclaimed.put(dimension, found);
+                }));
     }
 
-    public static void clearHistory(Level level, BlockPos pos) {
-        String key = historyKey(level, pos);
-        inputHistoryMap.remove(key);
-        outputHistoryMap.remove(key);
+    private static void mergeRollups(MachineHistory history, EnergyHistoryStore.Rollups rollups) {
+        history.inputRollup().merge(rollups.input());
+        history.outputRollup().merge(rollups.output());
+    }
+
+    // Live view of a machine's input history, or null if it has none
+    public static EnergyHistoryBuffer getInputHistory(Level level, BlockPos pos) {
+        MachineHistory history = find(level, pos);
+        return history != null ? history.input() : null;
+    }
+
+    // Live view of a machine's output history, or null if it has none
+    public static EnergyHistoryBuffer getOutputHistory(Level level, BlockPos pos) {
+        MachineHistory history = find(level, pos);
+        return history != null ? history.output() : null;
+    }
+
+    // Rollups of a machine's input and output, or null if it has no history
+    public static EnergyRollup getInputRollup(ResourceKey<Level> dimension, BlockPos pos) {
+        MachineHistory history = find(dimension, pos);
+        return history != null ? history.inputRollup() : null;
+    }
+
+    public static EnergyRollup getOutputRollup(ResourceKey<Level> dimension, BlockPos pos) {
+        MachineHistory history = find(dimension, pos);
+        return history != null ? history.outputRollup() : null;
+    }
+
+    private static MachineHistory find(Level level, BlockPos pos) {
+        return find(level.dimension(), pos);
+    }
+
+    private static MachineHistory find(ResourceKey<Level> dimension, BlockPos pos) {
+        Long2ObjectOpenHashMap<MachineHistory> byPos = historyByDimension.get(dimension);
+        return byPos != null ? byPos.get(pos.asLong()) : null;
+    }
+
+    // Drops everything held for a machine no analyzer references any more (its sampler target expired):
+    // history, unclaimed backfill and the last collected snapshot, which otherwise outlives level unloads
+    static void forget(ResourceKey<Level> dimension, long pos) {
+        Long2ObjectOpenHashMap<MachineHistory> byPos = historyByDimension.get(dimension);
+        if (byPos != null) byPos.remove(pos);
+        Long2ObjectMap<EnergyHistoryStore.Rollups> unclaimed = backfillUnclaimed.get(dimension);
+        if (unclaimed != null) unclaimed.remove(pos);
+        Long2ObjectOpenHashMap<EnergySnapshot> last = lastCollected.get(dimension);
+        if (last != null) {
+            last.remove(pos);
+            if (last.isEmpty()) lastCollected.remove(dimension);
+        }
     }
-}
\ No newline at end of file
+}
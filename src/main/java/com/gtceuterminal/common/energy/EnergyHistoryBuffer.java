@@ -0,0 +1,73 @@
+package com.gtceuterminal.common.energy;
+
+import java.util.function.LongConsumer;
+
+// Fixed-capacity ring buffer of long samples. Appends never allocate; reads index straight into the ring.
+public final class EnergyHistoryBuffer {
+
+    private long[] data;
+    private int head = 0;   // next write slot
+    private int size = 0;
+    private long appended = 0; // total samples ever appended; used as the sync sequence
+
+    public EnergyHistoryBuffer(int capacity) {
+        this.data = new long[Math.max(1, capacity)];
+    }
+
+    public void append(long value) {
+        data[head] = value;
+        head = (head + 1) % data.length;
+        if (size < data.length) size++;
+        appended++;
+    }
+
+    public int size()     { return size; }
+    public int capacity() { return data.length; }
+    public long appended() { return appended; }
+
+    // i = 0 is the oldest retained sample, size() - 1 the newest
+    public long get(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        return data[(head - size + i + data.length) % data.length];
+    }
+
+    public long latest() {
+        return size == 0 ? 0 : data[(head - 1 + data.length) % data.length];
+    }
+
+    // Visits the newest `window` samples, oldest first, without copying
+    public void forEachInWindow(int window, LongConsumer consumer) {
+        int n = Math.min(window, size);
+        int start = (head - n + data.length) % data.length;
+        for (int i = 0; i < n; i++) {
+            consumer.accept(data[(start + i) % data.length]);
+        }
+    }
+
+    // Oldest to newest
+    public long[] toArray() {
+        long[] out = new long[size];
+        int start = (head - size + data.length) % data.length;
+        int firstRun = Math.min(size, data.length - start);
+        System.arraycopy(data, start, out, 0, firstRun);
+        System.arraycopy(data, 0, out, firstRun, size - firstRun);
+        return out;
+    }
+
+    // Changes capacity, keeping the newest samples
+    public void resize(int capacity) {
+        capacity = Math.max(1, capacity);
+        if (capacity == data.length) return;
+        long[] current = toArray();
+        int keep = Math.min(current.length, capacity);
+        data = new long[capacity];
+        System.arraycopy(current, current.length - keep, data, 0, keep);
+        size = keep;
+        head = keep % capacity;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,462 @@
+package com.gtceuterminal.common.energy;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.config.ItemsConfig;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only on-disk energy time series, one directory per dimension under
+ * {@code <world>/data/gtceuterminal_energy}.
+ * - Records are fixed size (time, pos, input, output), appended in time order into
+ *   memory-mapped segment files, so an append on the server thread is a few buffer writes.
+ * - A single background thread flushes the active segments, compacts sealed segments older
+ *   than a day into per-minute aggregates (count, sum, min, max per machine), deletes segments
+ *   past the retention window and rebuilds rollups. A rebuild covers a whole dimension in one
+ *   pass, only touches segments overlapping the range and binary-searches into them by time.
+ */
+@Mod.EventBusSubscriber(modid = GTCEUTerminalMod.MOD_ID)
+public class EnergyHistoryStore {
+
+    // ─── Segment layout ──────────────────────────────────────────────────────
+    private static final int MAGIC   = 0x47544548; // "GTEH"
+    // 1: compacted segments held per-minute averages in raw records; 2: they hold aggregate records
+    private static final int VERSION = 2;
+
+    private static final int OFF_MAGIC      = 0;
+    private static final int OFF_VERSION    = 4;
+    private static final int OFF_FLAGS      = 8;
+    private static final int OFF_COUNT      = 12;
+    private static final int OFF_FIRST_TIME = 16;
+    private static final int OFF_LAST_TIME  = 24;
+    private static final int HEADER_SIZE    = 32;
+
+    private static final int FLAG_COMPACTED = 1;
+
+    // time, BlockPos.asLong, input EU/s, output EU/s
+    private static final int RECORD_SIZE = 32;
+    // Compacted: time, BlockPos.asLong, count, input sum/min/max, output sum/min/max
+    private static final int AGGREGATE_RECORD_SIZE = 72;
+    private static final int SEGMENT_RECORDS = 65_536;
+    private static final String SEGMENT_EXT = ".seg";
+
+    private static final long SEGMENT_SPAN_MILLIS   = TimeUnit.DAYS.toMillis(1);
+    private static final long COMPACT_AFTER_MILLIS  = TimeUnit.DAYS.toMillis(1);
+    private static final long COMPACT_BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long FLUSH_INTERVAL_SEC    = 30;
+    private static final long MAINTENANCE_INTERVAL_MIN = 10;
+
+    private static Path root = null;
+    private static ScheduledExecutorService io = null;
+    private static final Map<ResourceKey<Level>, Segment> active = new HashMap<>();
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        if (!ItemsConfig.isEAPersistHistory()) return;
+        MinecraftServer server = event.getServer();
+        root = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(GTCEUTerminalMod.MOD_ID + "_energy");
+
+        io = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "GTCEUTerminal-EnergyStore");
+            t.setDaemon(true);
+            return t;
+        });
+        io.scheduleWithFixedDelay(EnergyHistoryStore::flushActive, FLUSH_INTERVAL_SEC, FLUSH_INTERVAL_SEC, TimeUnit.SECONDS);
+        io.scheduleWithFixedDelay(EnergyHistoryStore::maintain, 1, MAINTENANCE_INTERVAL_MIN * 60, TimeUnit.SECONDS);
+        GTCEUTerminalMod.LOGGER.info("Energy history store opened at {}", root);
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        if (io == null) return;
+        List<Segment> segments;
+        synchronized (active) {
+            segments = new ArrayList<>(active.values());
+            active.clear();
+        }
+        io.execute(() -> segments.forEach(Segment::close));
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(10, TimeUnit.SECONDS)) {
+                GTCEUTerminalMod.LOGGER.warn("Energy history store did not finish flushing in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        io = null;
+        root = null;
+    }
+
+    public static boolean isOpen() {
+        return io != null;
+    }
+
+    // ─── Append (server thread) ──────────────────────────────────────────────
+    public static void append(ResourceKey<Level> dimension, BlockPos pos, long timeMillis, long input, long output) {
+        if (io == null) return;
+        try {
+            Segment segment;
+            synchronized (active) {
+                segment = active.get(dimension);
+                if (segment == null || segment.isFull() || timeMillis - segment.firstTime >= SEGMENT_SPAN_MILLIS) {
+                    if (segment != null) {
+                        Segment sealed = segment;
+                        io.execute(sealed::close);
+                    }
+                    segment = Segment.create(dimensionDir(dimension), timeMillis);
+                    active.put(dimension, segment);
+                }
+            }
+            segment.append(timeMillis, pos.asLong(), input, output);
+        } catch (IOException e) {
+            GTCEUTerminalMod.LOGGER.error("Energy history store: could not append for {}", dimension.location(), e);
+        }
+    }
+
+    // ─── Read (background thread) ────────────────────────────────────────────
+    // Minute/hour rollups of one machine, rebuilt from its stored records
+    public record Rollups(EnergyRollup input, EnergyRollup output) {}
+
+    // One stored record as an aggregate: a raw sample has count 1 and sum = min = max
+    @FunctionalInterface
+    private interface RecordSink {
+        void accept(long pos, long time, int count,
+                    long sumIn, long minIn, long maxIn, long sumOut, long minOut, long maxOut);
+    }
+
+    /**
+     * Rollups for every machine in {@code positions} from records with from <= time < to, in a single
+     * pass over the dimension's segments. Built on the store thread; the map is handed over complete.
+     */
+    public static CompletableFuture<Long2ObjectMap<Rollups>> readRollups(ResourceKey<Level> dimension,
+                                                                        LongSet positions, long from, long to) {
+        if (io == null || positions.isEmpty()) return CompletableFuture.completedFuture(new Long2ObjectOpenHashMap<>());
+        Path dir = dimensionDir(dimension);
+        LongSet wanted = new LongOpenHashSet(positions);
+        return CompletableFuture.supplyAsync(() -> {
+            Long2ObjectOpenHashMap<Rollups> out = new Long2ObjectOpenHashMap<>();
+            RecordSink sink = (pos, time, n, sumIn, minIn, maxIn, sumOut, minOut, maxOut) -> {
+                Rollups rollups = out.get(pos);
+                if (rollups == null) {
+                    rollups = new Rollups(new EnergyRollup(), new EnergyRollup());
+                    out.put(pos, rollups);
+                }
+                rollups.input().appendAggregate(minIn, maxIn, sumIn, n, time);
+                rollups.output().appendAggregate(minOut, maxOut, sumOut, n, time);
+            };
+            for (Path file : listSegments(dir)) {
+                try {
+                    scan(file, wanted, from, to, sink);
+                } catch (IOException e) {
+                    GTCEUTerminalMod.LOGGER.warn("Energy history store: could not read {}: {}", file, e.getMessage());
+                }
+            }
+            return out;
+        }, io);
+    }
+
+    private static void scan(Path file, LongSet positions, long from, long to, RecordSink out) throws IOException {
+        // Segment names are their first timestamp; skip anything that starts after the range
+        long nameTime = segmentTime(file);
+        if (nameTime >= to) return;
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (ch.read(header, 0) < HEADER_SIZE || header.getInt(OFF_MAGIC) != MAGIC) return;
+            int count = header.getInt(OFF_COUNT);
+            if (count == 0 || header.getLong(OFF_LAST_TIME) < from) return;
+            // Version 1 compacted segments kept only the minute average in a raw-sized record; they read
+            // as single samples and age out with the retention window
+            boolean aggregate = (header.getInt(OFF_FLAGS) & FLAG_COMPACTED) != 0
+                    && header.getInt(OFF_VERSION) >= 2;
+            int recordSize = aggregate ? AGGREGATE_RECORD_SIZE : RECORD_SIZE;
+
+            // Binary search for the first record at or after `from`
+            ByteBuffer one = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            int lo = 0, hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                one.clear();
+                ch.read(one, HEADER_SIZE + (long) mid * recordSize);
+                if (one.getLong(0) < from) lo = mid + 1; else hi = mid;
+            }
+
+            ByteBuffer chunk = ByteBuffer.allocate(recordSize * 2048).order(ByteOrder.LITTLE_ENDIAN);
+            int index = lo;
+            while (index < count) {
+                chunk.clear();
+                int records = Math.min(count - index, 2048);
+                chunk.limit(records * recordSize);
+                ch.read(chunk, HEADER_SIZE + (long) index * recordSize);
+                for (int i = 0; i < records; i++) {
+                    int base = i * recordSize;
+                    long time = chunk.getLong(base);
+                    if (time >= to) return;
+                    long pos = chunk.getLong(base + 8);
+                    if (!positions.contains(pos)) continue;
+                    if (aggregate) {
+                        out.accept(pos, time, (int) chunk.getLong(base + 16),
+                                chunk.getLong(base + 24), chunk.getLong(base + 32), chunk.getLong(base + 40),
+                                chunk.getLong(base + 48), chunk.getLong(base + 56), chunk.getLong(base + 64));
+                    } else {
+                        long in = chunk.getLong(base + 16), output = chunk.getLong(base + 24);
+                        out.accept(pos, time, 1, in, in, in, output, output, output);
+                    }
+                }
+                index += records;
+            }
+        }
+    }
+
+    // ─── Background maintenance ──────────────────────────────────────────────
+    private static void flushActive() {
+        List<Segment> segments;
+        synchronized (active) {
+            segments = new ArrayList<>(active.values());
+        }
+        for (Segment segment : segments) segment.flush();
+    }
+
+    private static void maintain() {
+        Path base = root;
+        if (base == null || !Files.isDirectory(base)) return;
+        long now = System.currentTimeMillis();
+        long retentionCutoff = now - TimeUnit.DAYS.toMillis(ItemsConfig.getEARetentionDays());
+
+        List<Path> activeFiles = new ArrayList<>();
+        synchronized (active) {
+            for (Segment s : active.values()) activeFiles.add(s.file);
+        }
+
+        try (DirectoryStream<Path> dims = Files.newDirectoryStream(base)) {
+            for (Path dir : dims) {
+                if (!Files.isDirectory(dir)) continue;
+                for (Path file : listSegments(dir)) {
+                    if (activeFiles.contains(file)) continue;
+                    try {
+                        maintainSegment(file, now, retentionCutoff);
+                    } catch (IOException e) {
+                        // Typically a sealed segment that is still mapped; retried next pass
+                        GTCEUTerminalMod.LOGGER.debug("Energy history store: maintenance skipped {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            GTCEUTerminalMod.LOGGER.warn("Energy history store maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private static void maintainSegment(Path file, long now, long retentionCutoff) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.read(header, 0) < HEADER_SIZE || header.getInt(OFF_MAGIC) != MAGIC) return;
+        }
+        int count = header.getInt(OFF_COUNT);
+        long lastTime = header.getLong(OFF_LAST_TIME);
+
+        // Retention: drop whole segments that ended before the window
+        if (count == 0 || lastTime < retentionCutoff) {
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        // Compaction: one aggregate record per machine per minute once a segment is a day old
+        if ((header.getInt(OFF_FLAGS) & FLAG_COMPACTED) == 0 && lastTime < now - COMPACT_AFTER_MILLIS) {
+            compact(file, count);
+        }
+    }
+
+    private static void compact(Path file, int count) throws IOException {
+        ByteBuffer records = ByteBuffer.allocate(count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ch.read(records, HEADER_SIZE);
+        }
+
+        // Records are time ordered, so each minute's machines are contiguous
+        // Worst case every raw record is its own minute: at most count aggregate records
+        ByteBuffer outRecords = ByteBuffer.allocate(count * AGGREGATE_RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        // pos -> {n, sumIn, minIn, maxIn, sumOut, minOut, maxOut}
+        Long2ObjectOpenHashMap<long[]> minute = new Long2ObjectOpenHashMap<>();
+        List<Long> minuteOrder = new ArrayList<>();
+        long currentBucket = Long.MIN_VALUE;
+        int written = 0;
+        long firstTime = Long.MAX_VALUE, lastTime = Long.MIN_VALUE;
+
+        for (int i = 0; i <= count; i++) {
+            long time = i < count ? records.getLong(i * RECORD_SIZE) : Long.MAX_VALUE;
+            long bucket = i < count ? Math.floorDiv(time, COMPACT_BUCKET_MILLIS) : Long.MAX_VALUE;
+            if (bucket != currentBucket && currentBucket != Long.MIN_VALUE) {
+                long bucketTime = currentBucket * COMPACT_BUCKET_MILLIS;
+                for (long pos : minuteOrder) {
+                    long[] acc = minute.get(pos);
+                    outRecords.putLong(bucketTime).putLong(pos);
+                    for (long v : acc) outRecords.putLong(v);
+                    written++;
+                }
+                firstTime = Math.min(firstTime, bucketTime);
+                lastTime = Math.max(lastTime, bucketTime);
+                minute.clear();
+                minuteOrder.clear();
+            }
+            if (i == count) break;
+            currentBucket = bucket;
+
+            int base = i * RECORD_SIZE;
+            long pos = records.getLong(base + 8);
+            long in = records.getLong(base + 16), output = records.getLong(base + 24);
+            long[] acc = minute.get(pos);
+            if (acc == null) {
+                acc = new long[] {0, 0, in, in, 0, output, output};
+                minute.put(pos, acc);
+                minuteOrder.add(pos);
+            }
+            acc[0]++;
+            acc[1] += in;
+            acc[2] = Math.min(acc[2], in);
+            acc[3] = Math.max(acc[3], in);
+            acc[4] += output;
+            acc[5] = Math.min(acc[5], output);
+            acc[6] = Math.max(acc[6], output);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(OFF_MAGIC, MAGIC).putInt(OFF_VERSION, VERSION).putInt(OFF_FLAGS, FLAG_COMPACTED)
+                .putInt(OFF_COUNT, written).putLong(OFF_FIRST_TIME, firstTime).putLong(OFF_LAST_TIME, lastTime);
+        outRecords.flip();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ch.write(header, 0);
+            ch.write(outRecords, HEADER_SIZE);
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        GTCEUTerminalMod.LOGGER.debug("Energy history store: compacted {} ({} -> {} records)", file, count, written);
+    }
+
+    // ─── Helpers ─────────────────────────────────────────────────────────────
+    private static Path dimensionDir(ResourceKey<Level> dimension) {
+        var id = dimension.location();
+        return root.resolve(id.getNamespace() + "_" + id.getPath().replace('/', '_'));
+    }
+
+    // Segment files of a directory, oldest first
+    private static List<Path> listSegments(Path dir) {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_EXT)) {
+            for (Path p : stream) files.add(p);
+        } catch (IOException e) {
+            GTCEUTerminalMod.LOGGER.warn("Energy history store: could not list {}: {}", dir, e.getMessage());
+        }
+        files.sort((a, b) -> Long.compare(segmentTime(a), segmentTime(b)));
+        return files;
+    }
+
+    private static long segmentTime(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_EXT.length()));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    // ─── Active segment ──────────────────────────────────────────────────────
+    private static final class Segment {
+        final Path file;
+        final long firstTime;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int count = 0;
+
+        private Segment(Path file, long firstTime, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstTime = firstTime;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path dir, long firstTime) throws IOException {
+            Files.createDirectories(dir);
+            Path file = dir.resolve(firstTime + SEGMENT_EXT);
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) SEGMENT_RECORDS * RECORD_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(OFF_MAGIC, MAGIC).putInt(OFF_VERSION, VERSION).putInt(OFF_FLAGS, 0).putInt(OFF_COUNT, 0)
+                    .putLong(OFF_FIRST_TIME, firstTime).putLong(OFF_LAST_TIME, firstTime);
+            return new Segment(file, firstTime, channel, buffer);
+        }
+
+        boolean isFull() {
+            return count >= SEGMENT_RECORDS;
+        }
+
+        void append(long time, long pos, long input, long output) {
+            int base = HEADER_SIZE + count * RECORD_SIZE;
+            buffer.putLong(base, time).putLong(base + 8, pos).putLong(base + 16, input).putLong(base + 24, output);
+            count++;
+            // Publish the record after it is written
+            buffer.putLong(OFF_LAST_TIME, time);
+            buffer.putInt(OFF_COUNT, count);
+        }
+
+        void flush() {
+            try {
+                buffer.force();
+            } catch (Exception e) {
+                GTCEUTerminalMod.LOGGER.warn("Energy history store: flush of {} failed: {}", file, e.getMessage());
+            }
+        }
+
+        // Flushes and trims the preallocated tail so sealed segments only hold real records
+        void close() {
+            flush();
+            try {
+                channel.truncate(HEADER_SIZE + (long) count * RECORD_SIZE);
+            } catch (IOException e) {
+                // Some platforms refuse to truncate a mapped file; readers rely on the header count
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+        }
+    }
+}
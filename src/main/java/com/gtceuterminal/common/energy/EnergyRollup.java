@@ -0,0 +1,189 @@
+package com.gtceuterminal.common.energy;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+// Time-bucketed rollup of one energy series: 1-minute buckets for the last day and
+// 1-hour buckets for the last week, each keeping min/max/sum/count. Updated on every append.
+public final class EnergyRollup {
+
+    public enum Resolution {
+        MINUTE(60_000L, 24 * 60),
+        HOUR(3_600_000L, 24 * 7);
+
+        public final long bucketMillis;
+        public final int buckets;
+
+        Resolution(long bucketMillis, int buckets) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = buckets;
+        }
+    }
+
+    private final Buckets minutes = new Buckets(Resolution.MINUTE);
+    private final Buckets hours   = new Buckets(Resolution.HOUR);
+
+    public void append(long value, long timeMillis) {
+        appendAggregate(value, value, value, 1, timeMillis);
+    }
+
+    // Folds an already-aggregated span (e.g. a compacted history minute) in with its real weight and extremes
+    public void appendAggregate(long min, long max, long sum, int count, long timeMillis) {
+        if (count <= 0) return;
+        minutes.add(min, max, sum, count, timeMillis);
+        hours.add(min, max, sum, count, timeMillis);
+    }
+
+    // Folds every filled bucket of another rollup into this one, oldest first
+    public void merge(EnergyRollup other) {
+        minutes.merge(other.minutes);
+        hours.merge(other.hours);
+    }
+
+    public Buckets get(Resolution resolution) {
+        return resolution == Resolution.MINUTE ? minutes : hours;
+    }
+
+    // ─── Bucket ring ──────────────────────────────────────────────────────────
+    public static final class Buckets {
+        private final long bucketMillis;
+        private final long[] min;
+        private final long[] max;
+        private final long[] sum;
+        private final int[] count;
+
+        private int head = 0;                       // slot of the newest bucket
+        private long newestBucket = Long.MIN_VALUE; // time / bucketMillis of the newest bucket
+
+        Buckets(Resolution resolution) {
+            this.bucketMillis = resolution.bucketMillis;
+            this.min   = new long[resolution.buckets];
+            this.max   = new long[resolution.buckets];
+            this.sum   = new long[resolution.buckets];
+            this.count = new int[resolution.buckets];
+        }
+
+        void add(long lo, long hi, long total, int n, long timeMillis) {
+            long bucket = Math.floorDiv(timeMillis, bucketMillis);
+            int slot;
+            if (newestBucket == Long.MIN_VALUE) {
+                newestBucket = bucket;
+                slot = head;
+            } else if (bucket > newestBucket) {
+                // Advance, emptying every bucket we skip over
+                long steps = Math.min(bucket - newestBucket, count.length);
+                for (long i = 0; i < steps; i++) {
+                    head = (head + 1) % count.length;
+                    count[head] = 0;
+                    sum[head] = 0;
+                }
+                newestBucket = bucket;
+                slot = head;
+            } else {
+                // Clock went backwards: fold into the matching older bucket if it is still retained
+                long back = newestBucket - bucket;
+                if (back >= count.length) return;
+                slot = (int) ((head - back + count.length) % count.length);
+            }
+
+            if (count[slot] == 0) {
+                min[slot] = lo;
+                max[slot] = hi;
+            } else {
+                min[slot] = Math.min(min[slot], lo);
+                max[slot] = Math.max(max[slot], hi);
+            }
+            sum[slot] += total;
+            count[slot] += n;
+        }
+
+        void merge(Buckets other) {
+            if (other.newestBucket == Long.MIN_VALUE) return;
+            int n = other.count.length;
+            for (int i = 0; i < n; i++) {
+                int s = other.slot(i);
+                if (other.count[s] == 0) continue;
+                long bucket = other.newestBucket - (n - 1 - i);
+                add(other.min[s], other.max[s], other.sum[s], other.count[s], bucket * bucketMillis);
+            }
+        }
+
+        public int capacity()      { return count.length; }
+        public long newestBucket() { return newestBucket; }
+
+        // i = 0 is the oldest retained bucket, capacity() - 1 the newest
+        private int slot(int i) { return (head + 1 + i) % count.length; }
+
+        public int  count(int i) { return count[slot(i)]; }
+        public long min(int i)   { int s = slot(i); return count[s] == 0 ? 0 : min[s]; }
+        public long max(int i)   { int s = slot(i); return count[s] == 0 ? 0 : max[s]; }
+        public long sum(int i)   { return sum[slot(i)]; }
+        public long avg(int i)   { int s = slot(i); return count[s] == 0 ? 0 : sum[s] / count[s]; }
+
+        // Index of the oldest bucket that holds data, or capacity() if none does
+        public int firstFilled() {
+            for (int i = 0; i < count.length; i++) {
+                if (count(i) > 0) return i;
+            }
+            return count.length;
+        }
+
+        // Buckets from the first filled one to the newest, as avg/min/max; empty buckets are sent as count 0
+        public void encode(FriendlyByteBuf buf) {
+            int from = firstFilled();
+            buf.writeVarInt(count.length - from);
+            for (int i = from; i < count.length; i++) {
+                int c = count(i);
+                buf.writeVarInt(c);
+                if (c == 0) continue;
+                buf.writeVarLong(avg(i));
+                buf.writeVarLong(min(i));
+                buf.writeVarLong(max(i));
+            }
+        }
+
+        public int newestCount() { return count(count.length - 1); }
+
+        // Just the newest (still filling) bucket, in the same per-bucket layout as encode()
+        public void encodeNewest(FriendlyByteBuf buf) {
+            int i = count.length - 1;
+            int c = count(i);
+            buf.writeVarInt(c);
+            if (c == 0) return;
+            buf.writeVarLong(avg(i));
+            buf.writeVarLong(min(i));
+            buf.writeVarLong(max(i));
+        }
+    }
+
+    // ─── Client view ──────────────────────────────────────────────────────────
+    // Decoded bucket series, oldest to newest; empty buckets read as 0
+    public record Series(long[] avg, long[] min, long[] max) {
+
+        public static final Series EMPTY = new Series(new long[0], new long[0], new long[0]);
+
+        public static Series decode(FriendlyByteBuf buf) {
+            int n = buf.readVarInt();
+            long[] avg = new long[n], min = new long[n], max = new long[n];
+            for (int i = 0; i < n; i++) {
+                if (buf.readVarInt() == 0) continue;
+                avg[i] = buf.readVarLong();
+                min[i] = buf.readVarLong();
+                max[i] = buf.readVarLong();
+            }
+            return new Series(avg, min, max);
+        }
+
+        // Applies an encodeNewest() update to the last bucket in place
+        public void readNewest(FriendlyByteBuf buf) {
+            boolean filled = buf.readVarInt() != 0;
+            long a = filled ? buf.readVarLong() : 0;
+            long lo = filled ? buf.readVarLong() : 0;
+            long hi = filled ? buf.readVarLong() : 0;
+            int last = avg.length - 1;
+            if (last < 0) return;
+            avg[last] = a;
+            min[last] = lo;
+            max[last] = hi;
+        }
+    }
+}
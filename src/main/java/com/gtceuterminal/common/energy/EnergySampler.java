@@ -0,0 +1,305 @@
+package com.gtceuterminal.common.energy;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.config.ItemsConfig;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-side background sampler for every machine linked to an Energy Analyzer.
+ * Targets are registered when a machine is linked or an analyzer UI is opened, and persisted
+ * with the overworld so history keeps recording after a restart. Analyzers shared by several
+ * players may link the same machine, so unlinking never removes a target; instead every analyzer
+ * carried by a player, and every UI read, keeps its targets alive, and targets nobody has touched
+ * for the configured expiry are dropped. Each target is sampled once
+ * per sample interval, spread round-robin across ticks under a global per-tick time budget.
+ * The Energy Analyzer UI only reads the latest sample.
+ */
+@Mod.EventBusSubscriber(modid = GTCEUTerminalMod.MOD_ID)
+public class EnergySampler extends SavedData {
+
+    private static final String DATA_NAME = GTCEUTerminalMod.MOD_ID + "_energy_targets";
+
+    // A sampled machine: dimension + BlockPos.asLong
+    private record Target(ResourceKey<Level> dimension, long pos) {}
+
+    // Controller block registry key, and the overworld game time the target was last linked, carried or read
+    private static final class Registration {
+        String controllerBlockKey;
+        long lastSeen;
+
+        Registration(String controllerBlockKey, long lastSeen) {
+            this.controllerBlockKey = controllerBlockKey;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    private static final int EXPIRE_CHECK_TICKS = 20 * 60;
+    // Targets saved before expiry existed; their expiry starts at the first check after load
+    private static final long UNSEEN = Long.MIN_VALUE;
+
+    // Target -> registration, in registration order
+    private final LinkedHashMap<Target, Registration> targets = new LinkedHashMap<>();
+    // Round-robin order over targets; rebuilt when the target set changes
+    private List<Target> order = null;
+    private int cursor = 0;
+    // Samples owed to the round-robin; carries over when the budget cuts a tick short
+    private double credit = 0;
+
+    // Latest sample per target (not persisted)
+    private final Map<Target, EnergySnapshot> latest = new HashMap<>();
+
+    public static EnergySampler get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(
+                EnergySampler::load, EnergySampler::new, DATA_NAME);
+    }
+
+    // ─── Public API ──────────────────────────────────────────────────────────
+    // Registers the machine, or keeps an existing registration from expiring
+    public static void track(MinecraftServer server, LinkedMachineData machine) {
+        ResourceKey<Level> dimension = machine.getDimensionKey();
+        if (dimension == null) return;
+        EnergySampler sampler = get(server);
+        Target target = new Target(dimension, machine.getPos().asLong());
+        long now = server.overworld().getGameTime();
+
+        Registration reg = sampler.targets.get(target);
+        if (reg == null) {
+            sampler.targets.put(target, new Registration(machine.getControllerBlockKey(), now));
+            sampler.order = null;
+            sampler.setDirty();
+            return;
+        }
+        // Persist the refreshed time only now and then; an older saved time just expires a little sooner
+        if (now - reg.lastSeen > EXPIRE_CHECK_TICKS) sampler.setDirty();
+        reg.lastSeen = now;
+        if (!reg.controllerBlockKey.equals(machine.getControllerBlockKey())) {
+            reg.controllerBlockKey = machine.getControllerBlockKey();
+            sampler.setDirty();
+        }
+    }
+
+    // BlockPos.asLong of every target in a dimension
+    public static LongSet positions(MinecraftServer server, ResourceKey<Level> dimension) {
+        LongSet result = new LongOpenHashSet();
+        for (Target target : get(server).targets.keySet()) {
+            if (target.dimension().equals(dimension)) result.add(target.pos());
+        }
+        return result;
+    }
+
+    // Drops targets no analyzer has linked, carried or read within the expiry
+    private void expire(long now) {
+        long expiry = ItemsConfig.getEATargetExpiryMinutes() * 60L * 20L;
+        boolean removed = targets.entrySet().removeIf(e -> {
+            if (e.getValue().lastSeen == UNSEEN) {
+                e.getValue().lastSeen = now;
+                setDirty();
+            }
+            if (now - e.getValue().lastSeen < expiry) return false;
+            latest.remove(e.getKey());
+            EnergyDataCollector.forget(e.getKey().dimension(), e.getKey().pos());
+            return true;
+        });
+        if (removed) {
+            order = null;
+            setDirty();
+        }
+    }
+
+    // Snapshot for the UI: the latest background sample, or a fresh one if this machine has never
+    // been sampled and its chunk is loaded, or an offline placeholder. Also registers the machine.
+    public static EnergySnapshot read(MinecraftServer server, LinkedMachineData machine) {
+        return readAll(server, List.of(machine)).get(0);
+    }
+
+    // read() for a whole list, in list order. Machines are visited grouped by dimension and chunk,
+    // so each ServerLevel is resolved once and each chunk's loaded state is checked once.
+    public static List<EnergySnapshot> readAll(MinecraftServer server, List<LinkedMachineData> machines) {
+        EnergySampler sampler = get(server);
+        EnergySnapshot[] result = new EnergySnapshot[machines.size()];
+
+        Integer[] visit = new Integer[machines.size()];
+        for (int i = 0; i < visit.length; i++) visit[i] = i;
+        Arrays.sort(visit, Comparator.comparing((Integer i) -> dimensionSortKey(machines.get(i).getDimensionKey()))
+                .thenComparingLong(i -> ChunkPos.asLong(machines.get(i).getPos())));
+
+        ChunkCursor chunks = new ChunkCursor(server);
+        for (int i : visit) {
+            LinkedMachineData machine = machines.get(i);
+            track(server, machine);
+
+            ResourceKey<Level> dimension = machine.getDimensionKey();
+            Target target = dimension != null ? new Target(dimension, machine.getPos().asLong()) : null;
+            EnergySnapshot snap = target != null ? sampler.latest.get(target) : null;
+            if (snap == null && target != null) {
+                snap = sampler.sample(chunks, target, machine.getControllerBlockKey());
+            }
+
+            if (snap == null) {
+                EnergySnapshot offline = new EnergySnapshot();
+                machine.applyToSnapshotIdentity(offline);
+                offline.mode = EnergySnapshot.MachineMode.UNKNOWN;
+                offline.isFormed = false;
+                result[i] = offline;
+            } else {
+                // Samples are shared between viewers (and so is their encoding); the custom name belongs to the analyzer item
+                result[i] = snap.withCustomName(machine.getCustomName());
+            }
+        }
+        return Arrays.asList(result);
+    }
+
+    // ─── Tick ────────────────────────────────────────────────────────────────
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        MinecraftServer server = event.getServer();
+        if (server == null) return;
+        get(server).tick(server);
+    }
+
+    private void tick(MinecraftServer server) {
+        if (targets.isEmpty()) return;
+        long now = server.overworld().getGameTime();
+        if (now % EXPIRE_CHECK_TICKS == 0) {
+            expire(now);
+            if (targets.isEmpty()) return;
+        }
+        if (order == null) {
+            // Grouped by dimension, then chunk, so consecutive samples share a level and chunk check
+            order = new ArrayList<>(targets.keySet());
+            order.sort(Comparator.comparing((Target t) -> dimensionSortKey(t.dimension()))
+                    .thenComparingLong(t -> ChunkPos.asLong(BlockPos.of(t.pos()))));
+            cursor = 0;
+        }
+
+        // Every target once per interval, spread evenly over the ticks of that interval
+        int interval = ItemsConfig.getEASampleIntervalTicks();
+        credit = Math.min(credit + (double) order.size() / interval, order.size());
+        long deadline = System.nanoTime() + ItemsConfig.getEASamplerBudgetMicros() * 1000L;
+
+        ChunkCursor chunks = new ChunkCursor(server);
+        while (credit >= 1) {
+            if (cursor >= order.size()) cursor = 0;
+            Target target = order.get(cursor++);
+            sample(chunks, target, targets.get(target).controllerBlockKey);
+            credit--;
+
+            if (System.nanoTime() - deadline >= 0) break;
+        }
+    }
+
+    // Samples one target if its dimension and chunk are loaded; otherwise falls back to the
+    // collector's last known (stale) snapshot, or null if there is none
+    private EnergySnapshot sample(ChunkCursor chunks, Target target, String controllerBlockKey) {
+        BlockPos pos = BlockPos.of(target.pos());
+        ServerLevel level = chunks.loadedLevel(target.dimension(), pos);
+        EnergySnapshot snap = level != null
+                ? EnergyDataCollector.collect(level, pos, "", controllerBlockKey)
+                : EnergyDataCollector.lastKnown(target.dimension(), pos);
+        if (snap != null) latest.put(target, snap);
+        return snap;
+    }
+
+    private static String dimensionSortKey(ResourceKey<Level> dimension) {
+        return dimension != null ? dimension.location().toString() : "";
+    }
+
+    // Remembers the last resolved level and the last checked chunk, so a run of targets in the
+    // same dimension and chunk costs one getLevel and one loaded check. Never loads a chunk.
+    private static final class ChunkCursor {
+        private final MinecraftServer server;
+        private ResourceKey<Level> dimension = null;
+        private ServerLevel level = null;
+        private long chunk = Long.MIN_VALUE;
+        private boolean chunkLoaded = false;
+
+        ChunkCursor(MinecraftServer server) {
+            this.server = server;
+        }
+
+        // The level if pos's chunk is loaded, otherwise null
+        ServerLevel loadedLevel(ResourceKey<Level> dim, BlockPos pos) {
+            if (!dim.equals(dimension)) {
+                dimension = dim;
+                level = server.getLevel(dim);
+                chunk = Long.MIN_VALUE;
+            }
+            if (level == null) return null;
+
+            long chunkKey = ChunkPos.asLong(pos);
+            if (chunkKey != chunk) {
+                chunk = chunkKey;
+                chunkLoaded = level.hasChunk(SectionPos.blockToSectionCoord(pos.getX()),
+                        SectionPos.blockToSectionCoord(pos.getZ()));
+            }
+            return chunkLoaded ? level : null;
+        }
+    }
+
+    private static ResourceKey<Level> dimensionKey(String dimensionId) {
+        try {
+            return ResourceKey.create(Registries.DIMENSION, ResourceLocation.parse(dimensionId));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ─── NBT ─────────────────────────────────────────────────────────────────
+    public static EnergySampler load(CompoundTag tag) {
+        EnergySampler sampler = new EnergySampler();
+        ListTag list = tag.getList("Targets", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag entry = list.getCompound(i);
+            ResourceKey<Level> dimension = dimensionKey(entry.getString("Dim"));
+            if (dimension == null) continue;
+            long lastSeen = entry.contains("LastSeen") ? entry.getLong("LastSeen") : UNSEEN;
+            sampler.targets.put(new Target(dimension, entry.getLong("Pos")),
+                    new Registration(entry.getString("BlockKey"), lastSeen));
+        }
+        return sampler;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (Map.Entry<Target, Registration> e : targets.entrySet()) {
+            CompoundTag entry = new CompoundTag();
+            entry.putString("Dim", e.getKey().dimension().location().toString());
+            entry.putLong("Pos", e.getKey().pos());
+            entry.putString("BlockKey", e.getValue().controllerBlockKey);
+            entry.putLong("LastSeen", e.getValue().lastSeen);
+            list.add(entry);
+        }
+        tag.put("Targets", list);
+        return tag;
+    }
+}
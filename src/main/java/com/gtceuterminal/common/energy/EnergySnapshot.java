@@ -1,11 +1,14 @@
 package com.gtceuterminal.common.energy;
 
+import io.netty.buffer.Unpooled;
+
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 // Snapshot of a machine's energy state at a specific moment in time, sent from server to client for display in the Energy Analyzer UI.
 public class EnergySnapshot {
@@ -19,6 +22,8 @@ public class EnergySnapshot {
     public String machineTypeKey = "";
     public MachineMode mode;
     public boolean isFormed;
+    // Last known values of a machine whose chunk is not loaded; not a live reading
+    public boolean stale = false;
 
     // ─── Current energy state ────────────────────────────────────────────────
     public long energyStored;       // EU stored (long for normal machines)
@@ -50,6 +55,12 @@ public class EnergySnapshot {
     // ─── History (ring buffer sent as array) ─────────────────────────────────
     public long[] inputHistory  = new long[0];  // EU/s per second, oldest to newest
     public long[] outputHistory = new long[0];
+    // Server only: total samples appended to the history, so a delta knows how many are new
+    public long historySeq;
+
+    // Server only: cached encode() body, and the shared sample a per-viewer copy encodes from
+    private byte[] encodedBody;
+    private EnergySnapshot bodySource;
 
     // ─── Derived ──────────────────────────────────────────────────────────────
     public long netPerSec() { return inputPerSec - outputPerSec; }
@@ -81,6 +92,47 @@ public class EnergySnapshot {
         }
     }
 
+    // Shallow copy; lists and history arrays are shared and must not be mutated
+    public EnergySnapshot copy() {
+        EnergySnapshot s = new EnergySnapshot();
+        s.machineCustomName   = machineCustomName;
+        s.machineTypeKey      = machineTypeKey;
+        s.mode                = mode;
+        s.isFormed            = isFormed;
+        s.stale               = stale;
+        s.energyStored        = energyStored;
+        s.energyCapacity      = energyCapacity;
+        s.bigStored           = bigStored;
+        s.bigCapacity         = bigCapacity;
+        s.usesBigInt          = usesBigInt;
+        s.inputPerSec         = inputPerSec;
+        s.outputPerSec        = outputPerSec;
+        s.inputVoltage        = inputVoltage;
+        s.inputAmperage       = inputAmperage;
+        s.outputVoltage       = outputVoltage;
+        s.outputAmperage      = outputAmperage;
+        s.hatches             = hatches;
+        s.isRecipeActive      = isRecipeActive;
+        s.recipeId            = recipeId;
+        s.recipeProgress      = recipeProgress;
+        s.recipeProgressTicks = recipeProgressTicks;
+        s.recipeDuration      = recipeDuration;
+        s.recipeTypeName      = recipeTypeName;
+        s.recipeHistory       = recipeHistory;
+        s.inputHistory        = inputHistory;
+        s.outputHistory       = outputHistory;
+        s.historySeq          = historySeq;
+        return s;
+    }
+
+    // Per-viewer view of a shared sample. Reuses the sample's encoded body; neither may be mutated afterwards.
+    public EnergySnapshot withCustomName(String customName) {
+        EnergySnapshot s = copy();
+        s.machineCustomName = customName != null ? customName : "";
+        s.bodySource = bodySource != null ? bodySource : this;
+        return s;
+    }
+
     // ─── Hatch info ───────────────────────────────────────────────────────────
     /** blockNameKey = block.getDescriptionId() for the hatch block at that position. */
     public record HatchInfo(String blockNameKey, long voltage, long amperage, boolean isInput) {
@@ -109,11 +161,25 @@ public class EnergySnapshot {
     }
 
     // ─── Network serialization ────────────────────────────────────────────────
+    // The custom name is per viewer; everything after it is the same for every viewer of a sample
+    // and is encoded once per sample (see withCustomName)
     public void encode(FriendlyByteBuf buf) {
         buf.writeUtf(machineCustomName);
+        EnergySnapshot source = bodySource != null ? bodySource : this;
+        if (source.encodedBody == null) {
+            FriendlyByteBuf tmp = new FriendlyByteBuf(Unpooled.buffer());
+            source.encodeBody(tmp);
+            source.encodedBody = new byte[tmp.readableBytes()];
+            tmp.readBytes(source.encodedBody);
+        }
+        buf.writeBytes(source.encodedBody);
+    }
+
+    private void encodeBody(FriendlyByteBuf buf) {
         buf.writeUtf(machineTypeKey);
         buf.writeEnum(mode);
         buf.writeBoolean(isFormed);
+        buf.writeBoolean(stale);
         buf.writeLong(energyStored);
         buf.writeLong(energyCapacity);
         buf.writeBoolean(usesBigInt);
@@ -157,6 +223,7 @@ public class EnergySnapshot {
         s.machineTypeKey    = buf.readUtf();
         s.mode           = buf.readEnum(MachineMode.class);
         s.isFormed       = buf.readBoolean();
+        s.stale          = buf.readBoolean();
         s.energyStored   = buf.readLong();
         s.energyCapacity = buf.readLong();
         s.usesBigInt     = buf.readBoolean();
@@ -193,4 +260,196 @@ public class EnergySnapshot {
 
         return s;
     }
-}
\ No newline at end of file
+
+    // ─── Incremental sync ─────────────────────────────────────────────────────
+    // Field groups present in a delta
+    private static final int D_IDENTITY       = 1;
+    private static final int D_ENERGY         = 1 << 1;
+    private static final int D_BIGINT         = 1 << 2;
+    private static final int D_FLOW           = 1 << 3;
+    private static final int D_HATCHES        = 1 << 4;
+    private static final int D_RECIPE         = 1 << 5;
+    private static final int D_RECIPE_HISTORY = 1 << 6;
+    private static final int D_HISTORY        = 1 << 7;
+
+    // Writes only what changed since prev, which the receiver must already hold.
+    // Numbers are zigzag varint deltas; history carries only the samples appended since prev.
+    public void encodeDelta(EnergySnapshot prev, FriendlyByteBuf buf) {
+        int mask = 0;
+        if (!Objects.equals(machineCustomName, prev.machineCustomName)
+                || !Objects.equals(machineTypeKey, prev.machineTypeKey)
+                || mode != prev.mode || isFormed != prev.isFormed || stale != prev.stale) mask |= D_IDENTITY;
+        if (energyStored != prev.energyStored || energyCapacity != prev.energyCapacity) mask |= D_ENERGY;
+        if (usesBigInt != prev.usesBigInt || (usesBigInt
+                && (!bigStored.equals(prev.bigStored) || !bigCapacity.equals(prev.bigCapacity)))) mask |= D_BIGINT;
+        if (inputPerSec != prev.inputPerSec || outputPerSec != prev.outputPerSec
+                || inputVoltage != prev.inputVoltage || inputAmperage != prev.inputAmperage
+                || outputVoltage != prev.outputVoltage || outputAmperage != prev.outputAmperage) mask |= D_FLOW;
+        if (!hatches.equals(prev.hatches)) mask |= D_HATCHES;
+        if (isRecipeActive != prev.isRecipeActive || recipeProgress != prev.recipeProgress
+                || recipeProgressTicks != prev.recipeProgressTicks || recipeDuration != prev.recipeDuration
+                || !recipeId.equals(prev.recipeId) || !recipeTypeName.equals(prev.recipeTypeName)) mask |= D_RECIPE;
+        if (!sameEntries(recipeHistory, prev.recipeHistory)) mask |= D_RECIPE_HISTORY;
+        if (historySeq != prev.historySeq || inputHistory.length != prev.inputHistory.length
+                || outputHistory.length != prev.outputHistory.length) mask |= D_HISTORY;
+
+        buf.writeVarInt(mask);
+
+        if ((mask & D_IDENTITY) != 0) {
+            buf.writeUtf(machineCustomName);
+            buf.writeUtf(machineTypeKey);
+            buf.writeEnum(mode);
+            buf.writeBoolean(isFormed);
+            buf.writeBoolean(stale);
+        }
+        if ((mask & D_ENERGY) != 0) {
+            writeDelta(buf, energyStored, prev.energyStored);
+            writeDelta(buf, energyCapacity, prev.energyCapacity);
+        }
+        if ((mask & D_BIGINT) != 0) {
+            buf.writeBoolean(usesBigInt);
+            if (usesBigInt) {
+                buf.writeByteArray(bigStored.toByteArray());
+                buf.writeByteArray(bigCapacity.toByteArray());
+            }
+        }
+        if ((mask & D_FLOW) != 0) {
+            writeDelta(buf, inputPerSec, prev.inputPerSec);
+            writeDelta(buf, outputPerSec, prev.outputPerSec);
+            writeDelta(buf, inputVoltage, prev.inputVoltage);
+            writeDelta(buf, inputAmperage, prev.inputAmperage);
+            writeDelta(buf, outputVoltage, prev.outputVoltage);
+            writeDelta(buf, outputAmperage, prev.outputAmperage);
+        }
+        if ((mask & D_HATCHES) != 0) {
+            buf.writeVarInt(hatches.size());
+            for (HatchInfo h : hatches) h.encode(buf);
+        }
+        if ((mask & D_RECIPE) != 0) {
+            buf.writeBoolean(isRecipeActive);
+            buf.writeUtf(recipeId);
+            buf.writeFloat(recipeProgress);
+            buf.writeVarInt(recipeProgressTicks);
+            buf.writeVarInt(recipeDuration);
+            buf.writeUtf(recipeTypeName);
+        }
+        if ((mask & D_RECIPE_HISTORY) != 0) {
+            buf.writeVarInt(recipeHistory.size());
+            for (RecipeHistoryEntry e : recipeHistory) e.encode(buf);
+        }
+        if ((mask & D_HISTORY) != 0) {
+            // New samples since prev; everything retained if the history was reset or lapped
+            long appendedSince = historySeq - prev.historySeq;
+            int fresh = (int) Math.min(Math.min(inputHistory.length, outputHistory.length),
+                    appendedSince < 0 ? Long.MAX_VALUE : appendedSince);
+            buf.writeVarInt(inputHistory.length);
+            buf.writeVarInt(outputHistory.length);
+            buf.writeVarInt(fresh);
+            writeTail(buf, inputHistory, fresh, prev.inputHistory);
+            writeTail(buf, outputHistory, fresh, prev.outputHistory);
+        }
+    }
+
+    // Applies a delta written by encodeDelta on top of prev; prev itself is left untouched
+    public static EnergySnapshot applyDelta(EnergySnapshot prev, FriendlyByteBuf buf) {
+        EnergySnapshot s = prev.copy();
+        int mask = buf.readVarInt();
+
+        if ((mask & D_IDENTITY) != 0) {
+            s.machineCustomName = buf.readUtf();
+            s.machineTypeKey    = buf.readUtf();
+            s.mode              = buf.readEnum(MachineMode.class);
+            s.isFormed          = buf.readBoolean();
+            s.stale             = buf.readBoolean();
+        }
+        if ((mask & D_ENERGY) != 0) {
+            s.energyStored   = readDelta(buf, prev.energyStored);
+            s.energyCapacity = readDelta(buf, prev.energyCapacity);
+        }
+        if ((mask & D_BIGINT) != 0) {
+            s.usesBigInt = buf.readBoolean();
+            if (s.usesBigInt) {
+                s.bigStored   = new BigInteger(buf.readByteArray());
+                s.bigCapacity = new BigInteger(buf.readByteArray());
+            }
+        }
+        if ((mask & D_FLOW) != 0) {
+            s.inputPerSec    = readDelta(buf, prev.inputPerSec);
+            s.outputPerSec   = readDelta(buf, prev.outputPerSec);
+            s.inputVoltage   = readDelta(buf, prev.inputVoltage);
+            s.inputAmperage  = readDelta(buf, prev.inputAmperage);
+            s.outputVoltage  = readDelta(buf, prev.outputVoltage);
+            s.outputAmperage = readDelta(buf, prev.outputAmperage);
+        }
+        if ((mask & D_HATCHES) != 0) {
+            int n = buf.readVarInt();
+            s.hatches = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) s.hatches.add(HatchInfo.decode(buf));
+        }
+        if ((mask & D_RECIPE) != 0) {
+            s.isRecipeActive      = buf.readBoolean();
+            s.recipeId            = buf.readUtf();
+            s.recipeProgress      = buf.readFloat();
+            s.recipeProgressTicks = buf.readVarInt();
+            s.recipeDuration      = buf.readVarInt();
+            s.recipeTypeName      = buf.readUtf();
+        }
+        if ((mask & D_RECIPE_HISTORY) != 0) {
+            int n = buf.readVarInt();
+            s.recipeHistory = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) s.recipeHistory.add(RecipeHistoryEntry.decode(buf));
+        }
+        if ((mask & D_HISTORY) != 0) {
+            int inputLength  = buf.readVarInt();
+            int outputLength = buf.readVarInt();
+            int fresh        = buf.readVarInt();
+            s.inputHistory  = readTail(buf, prev.inputHistory, inputLength, fresh);
+            s.outputHistory = readTail(buf, prev.outputHistory, outputLength, fresh);
+        }
+        return s;
+    }
+
+    private static boolean sameEntries(List<RecipeHistoryEntry> a, List<RecipeHistoryEntry> b) {
+        if (a.size() != b.size()) return false;
+        // Entries are immutable and shared between samples, so identity is enough
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) return false;
+        }
+        return true;
+    }
+
+    private static void writeDelta(FriendlyByteBuf buf, long value, long base) {
+        long d = value - base;
+        buf.writeVarLong((d << 1) ^ (d >> 63));
+    }
+
+    private static long readDelta(FriendlyByteBuf buf, long base) {
+        long z = buf.readVarLong();
+        return base + ((z >>> 1) ^ -(z & 1));
+    }
+
+    // The last `fresh` samples, each as a delta from the sample before it
+    private static void writeTail(FriendlyByteBuf buf, long[] history, int fresh, long[] prevHistory) {
+        int start = history.length - fresh;
+        long last = start > 0 ? history[start - 1] : (prevHistory.length > 0 ? prevHistory[prevHistory.length - 1] : 0);
+        for (int i = start; i < history.length; i++) {
+            writeDelta(buf, history[i], last);
+            last = history[i];
+        }
+    }
+
+    // Rebuilds a history of `length` samples: the retained tail of prev followed by `fresh` new samples
+    private static long[] readTail(FriendlyByteBuf buf, long[] prevHistory, int length, int fresh) {
+        long[] out = new long[length];
+        int kept = length - fresh;
+        int available = Math.min(kept, prevHistory.length);
+        System.arraycopy(prevHistory, prevHistory.length - available, out, kept - available, available);
+
+        long last = kept > 0 ? out[kept - 1] : (prevHistory.length > 0 ? prevHistory[prevHistory.length - 1] : 0);
+        for (int i = kept; i < length; i++) {
+            out[i] = readDelta(buf, last);
+            last = out[i];
+        }
+        return out;
+    }
+}
@@ -1,8 +1,10 @@
 package com.gtceuterminal.common.energy;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
@@ -19,6 +21,9 @@ public class LinkedMachineData {
     private String controllerBlockKey;
     /** Legacy English display from old saves when only {@code Type} was stored. */
     private String legacyTypeDisplay;
+    // Parsed dimensionId, resolved on first use
+    private ResourceKey<Level> dimensionKey;
+    private boolean dimensionKeyResolved = false;
 
     public LinkedMachineData(BlockPos pos, String dimensionId, String customName, String controllerBlockKey) {
         this(pos, dimensionId, customName, controllerBlockKey, "");
@@ -120,6 +125,19 @@ public class LinkedMachineData {
         }
     }
 
+    // Dimension key for dimensionId, or null if the id is malformed
+    public ResourceKey<Level> getDimensionKey() {
+        if (!dimensionKeyResolved) {
+            try {
+                dimensionKey = ResourceKey.create(Registries.DIMENSION, ResourceLocation.parse(dimensionId));
+            } catch (Exception e) {
+                dimensionKey = null;
+            }
+            dimensionKeyResolved = true;
+        }
+        return dimensionKey;
+    }
+
     public static String dimId(Level level) {
         return level.dimension().location().toString();
     }
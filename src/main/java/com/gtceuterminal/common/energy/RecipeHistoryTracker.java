@@ -6,6 +6,7 @@ import com.gregtechceu.gtceu.api.machine.trait.RecipeLogic;
 import com.gregtechceu.gtceu.api.recipe.GTRecipe;
 
 import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.util.MachineAccessors;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.item.crafting.Ingredient;
@@ -14,7 +15,6 @@ import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
-import java.lang.reflect.Field;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
@@ -33,24 +33,6 @@ public class RecipeHistoryTracker {
     // Per-machine last-seen state for change detection
     private static final Map<BlockPos, TrackState> stateMap = new HashMap<>();
 
-    private static Field progressField;
-    private static Field lastRecipeField;
-
-    static {
-        try {
-            progressField = RecipeLogic.class.getDeclaredField("progress");
-            progressField.setAccessible(true);
-        } catch (Exception e) {
-            GTCEUTerminalMod.LOGGER.warn("RecipeHistoryTracker: could not access RecipeLogic.progress", e);
-        }
-        try {
-            lastRecipeField = RecipeLogic.class.getDeclaredField("lastRecipe");
-            lastRecipeField.setAccessible(true);
-        } catch (Exception e) {
-            GTCEUTerminalMod.LOGGER.warn("RecipeHistoryTracker: could not access RecipeLogic.lastRecipe", e);
-        }
-    }
-
     @SubscribeEvent
     public static void onLevelUnload(LevelEvent.Unload event) {
         historyMap.clear();
@@ -77,10 +59,10 @@ public class RecipeHistoryTracker {
             TrackState state = stateMap.computeIfAbsent(pos, k -> new TrackState());
 
             boolean isWorking = logic.isWorking();
-            int progress = getProgress(logic);
+            int progress = MachineAccessors.progress(logic);
             int duration = logic.getMaxProgress();
 
-            GTRecipe currentRecipe = getCurrentRecipe(logic);
+            GTRecipe currentRecipe = MachineAccessors.lastRecipe(logic);
             String currentId = currentRecipe != null && currentRecipe.id != null
                     ? currentRecipe.id.toString() : "";
 
@@ -150,20 +132,6 @@ public class RecipeHistoryTracker {
         while (deque.size() > MAX_HISTORY) deque.pollFirst();
     }
 
-    private static int getProgress(RecipeLogic logic) {
-        if (progressField != null) {
-            try { return (int) progressField.get(logic); } catch (Exception ignored) {}
-        }
-        return (int) (logic.getProgressPercent() * logic.getMaxProgress());
-    }
-
-    private static GTRecipe getCurrentRecipe(RecipeLogic logic) {
-        if (lastRecipeField == null) return null;
-        try {
-            return (GTRecipe) lastRecipeField.get(logic);
-        } catch (Exception e) { return null; }
-    }
-
     private static String getOutputName(GTRecipe recipe) {
         if (recipe == null) return "Unknown";
         try {
@@ -3,7 +3,7 @@ package com.gtceuterminal.common.item;
 import com.gtceuterminal.GTCEUTerminalMod;
 import com.gtceuterminal.client.gui.factory.EnergyAnalyzerUIFactory;
 import com.gtceuterminal.common.config.ItemsConfig;
-import com.gtceuterminal.common.energy.EnergyDataCollector;
+import com.gtceuterminal.common.energy.EnergySampler;
 import com.gtceuterminal.common.energy.LinkedMachineData;
 
 import com.gregtechceu.gtceu.api.machine.MetaMachine;
@@ -14,9 +14,11 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.InteractionResultHolder;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
@@ -39,6 +41,8 @@ import java.util.List;
 public class EnergyAnalyzerItem extends Item {
 
     private static final String TAG_MACHINES = "LinkedMachines";
+    // How often a carried analyzer refreshes its sampler targets
+    private static final int KEEP_ALIVE_TICKS = 20 * 60;
 
     public EnergyAnalyzerItem() {
         super(new Item.Properties().stacksTo(1));
@@ -70,11 +74,11 @@ public class EnergyAnalyzerItem extends Item {
             // Shift+click: link or unlink
             List<LinkedMachineData> machines = loadMachines(stack);
 
-            // Check if already linked — unlink it
+            // Check if already linked — unlink it. History is shared with every other analyzer linked
+            // to this machine; the sampler's target expiry cleans it up once nobody references it
             for (int i = 0; i < machines.size(); i++) {
                 if (machines.get(i).matches(pos, dimId)) {
                     machines.remove(i);
-                    EnergyDataCollector.clearHistory(level, pos);
                     saveMachines(stack, machines);
                     player.displayClientMessage(
                             Component.translatable(
@@ -113,8 +117,10 @@ public class EnergyAnalyzerItem extends Item {
             }
 
             // Link it
-            machines.add(new LinkedMachineData(pos, dimId, "", controllerBlockKey));
+            LinkedMachineData linked = new LinkedMachineData(pos, dimId, "", controllerBlockKey);
+            machines.add(linked);
             saveMachines(stack, machines);
+            EnergySampler.track(level.getServer(), linked);
             player.displayClientMessage(
                     Component.translatable(
                             "item.gtceuterminal.energy_analyzer.message.linked",
@@ -173,6 +179,18 @@ public class EnergyAnalyzerItem extends Item {
         return InteractionResultHolder.success(stack);
     }
 
+    // ─── Carried ─────────────────────────────────────────────────────────────
+    // A carried analyzer keeps its machines' background sampling alive; a destroyed one lets them expire
+    @Override
+    public void inventoryTick(@NotNull ItemStack stack, @NotNull Level level, @NotNull Entity entity,
+                              int slot, boolean selected) {
+        if (!(level instanceof ServerLevel serverLevel) || !(entity instanceof Player)) return;
+        if ((serverLevel.getGameTime() + slot) % KEEP_ALIVE_TICKS != 0) return;
+        for (LinkedMachineData machine : loadMachines(stack)) {
+            EnergySampler.track(serverLevel.getServer(), machine);
+        }
+    }
+
     // ─── NBT helpers ─────────────────────────────────────────────────────────
     public static List<LinkedMachineData> loadMachines(ItemStack stack) {
         List<LinkedMachineData> result = new ArrayList<>();
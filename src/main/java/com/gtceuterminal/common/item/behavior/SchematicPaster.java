@@ -2,6 +2,7 @@ package com.gtceuterminal.common.item.behavior;
 
 import com.gtceuterminal.GTCEUTerminalMod;
 import com.gtceuterminal.common.ae2.MENetworkFluidHandlerWrapper;
+import com.gtceuterminal.common.ae2.MEAvailabilitySnapshot;
 import com.gtceuterminal.common.ae2.MENetworkItemExtractor;
 import com.gtceuterminal.common.data.SchematicData;
 import com.gtceuterminal.common.material.MaterialCalculator;
@@ -169,57 +170,73 @@ public final class SchematicPaster {
 
         int placedCount = 0;
 
-        for (Placement p : placements) {
-            if (p.state.getFluidState().isSource()) {
-                Fluid fluid = p.state.getFluidState().getType();
-                if (FluidPlacementHelper.tryPlaceFluid(level, p.worldPos, player, fluid, playerInventory, fluidStorage))
-                    placedCount++;
-                else
-                    skippedCount++;
-                continue;
+        // Take every fluid the paste needs in one ME operation per fluid type; unused fluid goes back after
+        MENetworkFluidHandlerWrapper meFluids = fluidStorage instanceof MENetworkFluidHandlerWrapper w ? w : null;
+        if (meFluids != null) {
+            Map<Fluid, Integer> fluidNeeded = new HashMap<>();
+            for (Placement p : placements) {
+                if (p.state.getFluidState().isSource()) {
+                    fluidNeeded.merge(p.state.getFluidState().getType(), 1000, Integer::sum);
+                }
             }
+            if (!fluidNeeded.isEmpty()) meFluids.reserve(fluidNeeded);
+        }
 
-            // Doors are two-block-tall structures.
-            if (p.state.getBlock() instanceof DoorBlock
-                    && p.state.getValue(DoorBlock.HALF) == DoubleBlockHalf.LOWER) {
-                BlockPos upperPos = p.worldPos.above();
-                // Only place if there is room for the upper half
-                BlockState upperCurrent = level.getBlockState(upperPos);
-                if (upperCurrent.isAir() || upperCurrent.canBeReplaced()) {
-                    BlockState upperState = p.state.setValue(DoorBlock.HALF, DoubleBlockHalf.UPPER);
-                    level.setBlock(p.worldPos, p.state, 3);
-                    level.setBlock(upperPos,   upperState, 3);
-                    placedCount++;
-                } else {
-                    skippedCount++;
+        try {
+            for (Placement p : placements) {
+                if (p.state.getFluidState().isSource()) {
+                    Fluid fluid = p.state.getFluidState().getType();
+                    if (FluidPlacementHelper.tryPlaceFluid(level, p.worldPos, player, fluid, playerInventory, fluidStorage))
+                        placedCount++;
+                    else
+                        skippedCount++;
+                    continue;
                 }
-                continue;
-            }
-            level.setBlock(p.worldPos, p.state, 3);
-            placedCount++;
-
-            // Restore block-entity data
-            if (clipboard.getBlockEntities().containsKey(p.relativeKey)) {
-                CompoundTag beTag = clipboard.getBlockEntities().get(p.relativeKey).copy();
-                BlockEntity be = level.getBlockEntity(p.worldPos);
-                if (be != null) {
-                    try {
-                        beTag.putInt("x", p.worldPos.getX());
-                        beTag.putInt("y", p.worldPos.getY());
-                        beTag.putInt("z", p.worldPos.getZ());
-                        be.load(beTag);
+
+                // Doors are two-block-tall structures.
+                if (p.state.getBlock() instanceof DoorBlock
+                        && p.state.getValue(DoorBlock.HALF) == DoubleBlockHalf.LOWER) {
+                    BlockPos upperPos = p.worldPos.above();
+                    // Only place if there is room for the upper half
+                    BlockState upperCurrent = level.getBlockState(upperPos);
+                    if (upperCurrent.isAir() || upperCurrent.canBeReplaced()) {
+                        BlockState upperState = p.state.setValue(DoorBlock.HALF, DoubleBlockHalf.UPPER);
+                        level.setBlock(p.worldPos, p.state, 3);
+                        level.setBlock(upperPos,   upperState, 3);
+                        placedCount++;
+                    } else {
+                        skippedCount++;
+                    }
+                    continue;
+                }
+                level.setBlock(p.worldPos, p.state, 3);
+                placedCount++;
+
+                // Restore block-entity data
+                if (clipboard.getBlockEntities().containsKey(p.relativeKey)) {
+                    CompoundTag beTag = clipboard.getBlockEntities().get(p.relativeKey).copy();
+                    BlockEntity be = level.getBlockEntity(p.worldPos);
+                    if (be != null) {
                         try {
-                            p.state.getBlock().setPlacedBy(
-                                    (net.minecraft.server.level.ServerLevel) level,
-                                    p.worldPos, p.state, player,
-                                    net.minecraft.world.item.ItemStack.EMPTY);
-                        } catch (Exception ignored) {}
-                        be.setChanged();
-                    } catch (Exception e) {
-                        GTCEUTerminalMod.LOGGER.error("Failed to load block entity at {}", p.worldPos, e);
+                            beTag.putInt("x", p.worldPos.getX());
+                            beTag.putInt("y", p.worldPos.getY());
+                            beTag.putInt("z", p.worldPos.getZ());
+                            be.load(beTag);
+                            try {
+                                p.state.getBlock().setPlacedBy(
+                                        (net.minecraft.server.level.ServerLevel) level,
+                                        p.worldPos, p.state, player,
+                                        net.minecraft.world.item.ItemStack.EMPTY);
+                            } catch (Exception ignored) {}
+                            be.setChanged();
+                        } catch (Exception e) {
+                            GTCEUTerminalMod.LOGGER.error("Failed to load block entity at {}", p.worldPos, e);
+                        }
                     }
                 }
             }
+        } finally {
+            if (meFluids != null) meFluids.releaseReserved();
         }
 
         Component msg = Component.translatable(
@@ -243,6 +260,7 @@ public final class SchematicPaster {
     private static Component buildMissingMessage(ItemStack itemStack, Level level,
                                                  Player player, Map<Item, Integer> required) {
         Map<Item, Integer> inv = MaterialCalculator.scanPlayerInventory(player);
+        MEAvailabilitySnapshot me = MENetworkItemExtractor.snapshotFor(itemStack, level, player);
         StringBuilder sb = new StringBuilder();
         int shown = 0;
 
@@ -251,7 +269,7 @@ public final class SchematicPaster {
             int  need = req.getValue();
             int  have = (int) Math.min(Integer.MAX_VALUE,
                     (long) inv.getOrDefault(it, 0)
-                            + MENetworkItemExtractor.checkItemAvailability(itemStack, level, player, it));
+                            + me.get(it));
             long miss = need - have;
 
             if (miss > 0) {
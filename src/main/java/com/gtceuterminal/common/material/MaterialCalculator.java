@@ -1,6 +1,7 @@
 package com.gtceuterminal.common.material;
 
 import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.ae2.MEAvailabilitySnapshot;
 import com.gtceuterminal.common.ae2.MENetworkItemExtractor;
 import com.gtceuterminal.common.ae2.WirelessTerminalHandler;
 import com.gtceuterminal.common.item.MultiStructureManagerItem;
@@ -271,6 +272,10 @@ public class MaterialCalculator {
         // Find wireless terminal
         ItemStack wirelessTerminal = findWirelessTerminal(player);
         boolean isLinked = !wirelessTerminal.isEmpty() && WirelessTerminalHandler.isLinked(wirelessTerminal);
+        // SERVER: one ME snapshot shared by every item of the bill
+        MEAvailabilitySnapshot meSnapshot = isLinked && !level.isClientSide
+                ? MENetworkItemExtractor.snapshotFor(wirelessTerminal, level, player)
+                : null;
 
         for (Map.Entry<Item, Integer> entry : required.entrySet()) {
             MaterialAvailability mat = new MaterialAvailability(entry.getKey(), entry.getValue());
@@ -294,9 +299,7 @@ public class MaterialCalculator {
                             entry.getKey().getDescription().getString(), stillNeeded);
                 } else {
                     // SERVER: Actually check ME Network
-                    inME = MENetworkItemExtractor.checkItemAvailability(
-                            wirelessTerminal, level, player, entry.getKey()
-                    );
+                    inME = meSnapshot != null ? meSnapshot.get(entry.getKey()) : 0;
                     GTCEUTerminalMod.LOGGER.info("  {} [SERVER]: Found {} in ME",
                             entry.getKey().getDescription().getString(), inME);
                 }
@@ -408,13 +411,8 @@ public class MaterialCalculator {
                     );
 
             if (result.success) {
-                if (result.source == MENetworkItemExtractor.ExtractionSource.ME_NETWORK) {
-                    GTCEUTerminalMod.LOGGER.info("  ✓ Successfully extracted from ME Network");
-                    return true;
-                } else if (result.source == MENetworkItemExtractor.ExtractionSource.PLAYER_INVENTORY) {
-                    GTCEUTerminalMod.LOGGER.info("  ✓ Successfully extracted from Player Inventory");
-                    return true;
-                }
+                GTCEUTerminalMod.LOGGER.info("  ✓ Successfully extracted ({})", result.source);
+                return true;
             }
 
             GTCEUTerminalMod.LOGGER.warn("  ✗ ME Network extraction failed, trying traditional method...");
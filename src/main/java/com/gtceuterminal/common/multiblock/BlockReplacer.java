@@ -127,6 +127,7 @@ public class BlockReplacer {
             controller.checkPattern();
 
             String sourceMsg = extractionSource == MENetworkItemExtractor.ExtractionSource.ME_NETWORK
+                    || extractionSource == MENetworkItemExtractor.ExtractionSource.MIXED
                     ? " (from ME Network)"
                     : extractionSource == MENetworkItemExtractor.ExtractionSource.PLAYER_INVENTORY
                     ? " (from Inventory)"
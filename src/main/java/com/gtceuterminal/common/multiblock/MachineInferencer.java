@@ -12,12 +12,20 @@ import com.gregtechceu.gtceu.api.recipe.GTRecipe;
 
 import com.gtceuterminal.GTCEUTerminalMod;
 import com.gtceuterminal.common.config.ServerConfig;
+import com.gtceuterminal.common.util.MachineAccessors;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 // Infers machine state and energy usage by analyzing traits, capabilities, and recipe logic.
 public class MachineInferencer {
@@ -71,18 +79,71 @@ public class MachineInferencer {
         long lastEnergy = -1;
         long lastTime = -1;
         int calculatedEuPerTick = 0;
+        // System.nanoTime() of the last lookup, for eviction; stamped at creation so a new tracker
+        // is never the oldest in the sweep its own insertion triggers
+        volatile long lastAccess = System.nanoTime();
     }
 
-    private static final int MAX_TRACKED_MACHINES = 1000; // ~36 KB max
-    private static final java.util.Map<BlockPos, EnergyTracker> energyTrackers =
-            java.util.Collections.synchronizedMap(
-                    new java.util.LinkedHashMap<BlockPos, EnergyTracker>(MAX_TRACKED_MACHINES, 0.75f, true) {
-                        @Override
-                        protected boolean removeEldestEntry(java.util.Map.Entry<BlockPos, EnergyTracker> eldest) {
-                            return size() > MAX_TRACKED_MACHINES;
-                        }
+    // Trackers per dimension, keyed by BlockPos.asLong. Lookups take no global lock; once the total
+    // passes the configured maximum, one sweep evicts the least recently used ~10%.
+    private static final int DEFAULT_MAX_TRACKED_MACHINES = 1000;
+    private static final Map<ResourceKey<Level>, ConcurrentHashMap<Long, EnergyTracker>> energyTrackers =
+            new ConcurrentHashMap<>();
+    private static final AtomicInteger trackedCount = new AtomicInteger();
+    private static final ReentrantLock evictionLock = new ReentrantLock();
+
+    private static int maxTrackedMachines() {
+        try { return ServerConfig.getMaxTrackedMachines(); } catch (Exception e) { return DEFAULT_MAX_TRACKED_MACHINES; }
+    }
+
+    private static EnergyTracker tracker(ResourceKey<Level> dimension, BlockPos pos) {
+        ConcurrentHashMap<Long, EnergyTracker> byPos =
+                energyTrackers.computeIfAbsent(dimension, k -> new ConcurrentHashMap<>());
+        long key = pos.asLong();
+        EnergyTracker tracker = byPos.get(key);
+        if (tracker == null) {
+            EnergyTracker created = new EnergyTracker();
+            tracker = byPos.putIfAbsent(key, created);
+            if (tracker == null) {
+                tracker = created;
+                if (trackedCount.incrementAndGet() > maxTrackedMachines()) evictLeastRecentlyUsed();
+            }
+        }
+        tracker.lastAccess = System.nanoTime();
+        return tracker;
+    }
+
+    // Approximate LRU: finds the access time below which enough trackers fall, then drops them.
+    // Only one thread sweeps at a time; others carry on over the limit until it finishes.
+    private static void evictLeastRecentlyUsed() {
+        if (!evictionLock.tryLock()) return;
+        try {
+            int max = maxTrackedMachines();
+            long[] accessTimes = new long[trackedCount.get()];
+            int n = 0;
+            for (ConcurrentHashMap<Long, EnergyTracker> byPos : energyTrackers.values()) {
+                for (EnergyTracker t : byPos.values()) {
+                    if (n == accessTimes.length) break;
+                    accessTimes[n++] = t.lastAccess;
+                }
+            }
+            int toRemove = n - (max - max / 10);
+            if (toRemove <= 0) return;
+            Arrays.sort(accessTimes, 0, n);
+            long cutoff = accessTimes[toRemove - 1];
+
+            for (ConcurrentHashMap<Long, EnergyTracker> byPos : energyTrackers.values()) {
+                for (Iterator<EnergyTracker> it = byPos.values().iterator(); it.hasNext(); ) {
+                    if (it.next().lastAccess - cutoff <= 0) {
+                        it.remove();
+                        trackedCount.decrementAndGet();
                     }
-            );
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
 
     public static MachineSnapshot inferMachine(Level level, BlockPos pos) {
         if (level == null || !level.isLoaded(pos)) {
@@ -111,7 +172,7 @@ public class MachineInferencer {
         if (isDebug()) LOGGER.debug("{}", "  Is Multiblock: " + isMultiblock);
         if (isDebug()) LOGGER.debug("{}", "  Has Recipe Logic: " + hasRecipeLogic);
 
-        MachineSnapshot energySnapshot = inferFromEnergyContainerWithDelta(metaMachine, pos);
+        MachineSnapshot energySnapshot = inferFromEnergyContainerWithDelta(metaMachine, level.dimension(), pos);
         if (energySnapshot != null && energySnapshot.euPerTick > 0) {
             if (isDebug()) LOGGER.debug("{}", "  -> Used energy container delta: " + energySnapshot.euPerTick + " EU/t");
             return energySnapshot;
@@ -140,7 +201,8 @@ public class MachineInferencer {
         return new MachineSnapshot(0, MachineState.RUNNING);
     }
 
-    private static MachineSnapshot inferFromEnergyContainerWithDelta(MetaMachine metaMachine, BlockPos pos) {
+    private static MachineSnapshot inferFromEnergyContainerWithDelta(MetaMachine metaMachine,
+                                                                     ResourceKey<Level> dimension, BlockPos pos) {
         try {
             if (isDebug()) LOGGER.debug("  [DEBUG] Checking for Energy Container trait...");
 
@@ -189,7 +251,7 @@ public class MachineInferencer {
 
                 long theoreticalInput = inputVoltage * inputAmperage;
 
-                EnergyTracker tracker = energyTrackers.computeIfAbsent(pos, k -> new EnergyTracker());
+                EnergyTracker tracker = tracker(dimension, pos);
                 long currentTime = System.currentTimeMillis();
 
                 if (tracker.lastEnergy >= 0 && tracker.lastTime >= 0) {
@@ -262,32 +324,22 @@ public class MachineInferencer {
             // long getInputPerSec()
             // long getOutputPerSec()
 
-            Class<?> traitClazz = trait.getClass();
-            Class<?> machineClazz = machine.getClass();
-
             long storedEnergy = 0;
             java.math.BigInteger bigStored = java.math.BigInteger.ZERO;
             java.math.BigInteger bigCapacity = java.math.BigInteger.ZERO;
 
-            try {
-                var getStoredMethod = traitClazz.getMethod("getStored");
-                Object storedObj = getStoredMethod.invoke(trait);
-                if (storedObj instanceof java.math.BigInteger) {
-                    bigStored = (java.math.BigInteger) storedObj;
-                    storedEnergy = bigStored.compareTo(java.math.BigInteger.valueOf(Long.MAX_VALUE)) > 0
-                            ? Long.MAX_VALUE
-                            : bigStored.longValue();
-                }
-            } catch (Exception e) {
+            // Getters are resolved once per class (see MachineAccessors)
+            Object storedObj = MachineAccessors.GET_STORED.getObject(trait);
+            if (storedObj instanceof java.math.BigInteger) {
+                bigStored = (java.math.BigInteger) storedObj;
+                storedEnergy = bigStored.compareTo(java.math.BigInteger.valueOf(Long.MAX_VALUE)) > 0
+                        ? Long.MAX_VALUE
+                        : bigStored.longValue();
             }
 
-            try {
-                var getCapacityMethod = traitClazz.getMethod("getCapacity");
-                Object capacityObj = getCapacityMethod.invoke(trait);
-                if (capacityObj instanceof java.math.BigInteger) {
-                    bigCapacity = (java.math.BigInteger) capacityObj;
-                }
-            } catch (Exception e) {
+            Object capacityObj = MachineAccessors.GET_CAPACITY.getObject(trait);
+            if (capacityObj instanceof java.math.BigInteger) {
+                bigCapacity = (java.math.BigInteger) capacityObj;
             }
 
             int fillPercent = 0;
@@ -296,22 +348,8 @@ public class MachineInferencer {
                         .divide(bigCapacity).intValue();
             }
 
-            long inputPerSec = 0;
-            long outputPerSec = 0;
-
-            try {
-                var getInputMethod = machineClazz.getMethod("getInputPerSec");
-                inputPerSec = (long) getInputMethod.invoke(machine);
-            } catch (Exception e) {
-                // if (isDebug()) LOGGER.debug("{}", "    [DEBUG] Could not get inputPerSec: " + e.getMessage());
-            }
-
-            try {
-                var getOutputMethod = machineClazz.getMethod("getOutputPerSec");
-                outputPerSec = (long) getOutputMethod.invoke(machine);
-            } catch (Exception e) {
-                // if (isDebug()) LOGGER.debug("{}", "    [DEBUG] Could not get outputPerSec: " + e.getMessage());
-            }
+            long inputPerSec  = MachineAccessors.GET_INPUT_PER_SEC.getLong(machine, 0);
+            long outputPerSec = MachineAccessors.GET_OUTPUT_PER_SEC.getLong(machine, 0);
 
             // if (isDebug()) LOGGER.debug("  PowerStationEnergyBank:");
             if (isDebug()) LOGGER.debug(String.valueOf("    Stored: " + storedEnergy + " EU (" + fillPercent + "% full)"));
@@ -467,9 +505,7 @@ public class MachineInferencer {
         try {
             if (isDebug()) LOGGER.debug("  Getting EU/t from RecipeLogic...");
 
-            var recipeField = logic.getClass().getDeclaredField("lastRecipe");
-            recipeField.setAccessible(true);
-            GTRecipe recipe = (GTRecipe) recipeField.get(logic);
+            GTRecipe recipe = MachineAccessors.lastRecipe(logic);
 
             if (recipe == null) {
                 if (isDebug()) LOGGER.debug("    No recipe found");
@@ -492,18 +528,15 @@ public class MachineInferencer {
                             var content = contents.get(0);
                             if (isDebug()) LOGGER.debug("{}", "      Found EU content: " + content);
 
-                            try {
-                                var contentObj = content.content;
-                                var voltageMethod = contentObj.getClass().getMethod("voltage");
-                                var amperageMethod = contentObj.getClass().getMethod("amperage");
-                                long voltage = (long) voltageMethod.invoke(contentObj);
-                                long amperage = (long) amperageMethod.invoke(contentObj);
+                            Object contentObj = content.content;
+                            if (MachineAccessors.VOLTAGE.isPresent(contentObj) && MachineAccessors.AMPERAGE.isPresent(contentObj)) {
+                                long voltage = MachineAccessors.VOLTAGE.getLong(contentObj, 0);
+                                long amperage = MachineAccessors.AMPERAGE.getLong(contentObj, 0);
                                 long euPerTick = voltage * amperage;
                                 if (isDebug()) LOGGER.debug("{}", "      EU/t from energy stack: " + voltage + "V × " + amperage + "A = " + euPerTick);
                                 return (int) Math.min(euPerTick, Integer.MAX_VALUE);
-                            } catch (Exception e) {
-                                if (isDebug()) LOGGER.debug("{}", "      Could not extract voltage/amperage: " + e.getMessage());
                             }
+                            if (isDebug()) LOGGER.debug("      Could not extract voltage/amperage");
                         }
                     }
                 }
@@ -526,7 +559,8 @@ public class MachineInferencer {
         }
     }
 
-    public static void clearTracker(BlockPos pos) {
-        energyTrackers.remove(pos);
+    public static void clearTracker(ResourceKey<Level> dimension, BlockPos pos) {
+        ConcurrentHashMap<Long, EnergyTracker> byPos = energyTrackers.get(dimension);
+        if (byPos != null && byPos.remove(pos.asLong()) != null) trackedCount.decrementAndGet();
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.gtceuterminal.common.multiblock;
 
 import com.gregtechceu.gtceu.api.machine.feature.multiblock.IMultiController;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import net.minecraft.core.BlockPos;
 import java.util.Collections;
 import java.util.HashSet;
@@ -29,7 +32,7 @@ public class MultiblockInfo {
     // Custom display name set by the player, stored in the MSM item NBT. If null or blank, falls back to the default machine type name.
     private String customDisplayName = null;
     // Cached set of all block positions in this multiblock, used for efficient highlighting and interaction. Populated on demand.
-    private Set<BlockPos> allBlockPositions = null;
+    private LongSet allBlockPositions = null;
 
     public MultiblockInfo(
             IMultiController controller,
@@ -70,11 +73,22 @@ public class MultiblockInfo {
         return customDisplayName != null ? customDisplayName : "";
     }
 
+    // Returns a fresh, mutable set on every call
     public Set<BlockPos> getAllBlockPositions() {
-        return allBlockPositions != null ? allBlockPositions : Collections.emptySet();
+        if (allBlockPositions == null) return new HashSet<>();
+        Set<BlockPos> positions = new HashSet<>(allBlockPositions.size());
+        for (LongIterator it = allBlockPositions.iterator(); it.hasNext(); ) {
+            positions.add(BlockPos.of(it.nextLong()));
+        }
+        return positions;
+    }
+
+    // Same positions as BlockPos.asLong keys, without materializing BlockPos objects
+    public LongSet getAllBlockPositionsPacked() {
+        return allBlockPositions != null ? LongSets.unmodifiable(allBlockPositions) : LongSets.EMPTY_SET;
     }
 
-    public void setAllBlockPositions(Set<BlockPos> positions) {
+    public void setAllBlockPositions(LongSet positions) {
         this.allBlockPositions = positions;
     }
 
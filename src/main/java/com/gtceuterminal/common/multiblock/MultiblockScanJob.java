@@ -0,0 +1,145 @@
+package com.gtceuterminal.common.multiblock;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.config.ItemsConfig;
+import com.gtceuterminal.common.scanner.MultiblockSnapshot;
+import com.gtceuterminal.common.scanner.UniversalMultiblockScanner;
+import com.gtceuterminal.common.scanner.UniversalMultiblockScanner.DetectedMultiblock;
+
+import com.gregtechceu.gtceu.api.machine.multiblock.MultiblockControllerMachine;
+
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resumable multiblock scan.
+ * Controllers are discovered up front (cheap), sorted nearest-first, then analysed
+ * a few at a time within a per-call time budget so the nearest structures arrive first.
+ * In parallel mode each step only snapshots controllers on the calling thread; classification
+ * runs on the scanner's worker pool and finished analyses are merged back in discovery order.
+ */
+public class MultiblockScanJob {
+
+    // Per-tick analysis budget used by the Multi-Structure Manager UI
+    public static final long DEFAULT_BUDGET_NANOS = 2_000_000L;
+
+    private final Player player;
+    private final Level level;
+    private final Vec3 playerVec;
+    private final int maxDetected;
+    private final boolean parallel;
+
+    private final List<MultiblockControllerMachine> pending;
+    private int cursor = 0;
+
+    // Parallel mode: analyses submitted to the worker pool, nearest first
+    private final ArrayDeque<CompletableFuture<DetectedMultiblock>> inFlight = new ArrayDeque<>();
+
+    // Always kept sorted by distance to the player
+    private final List<MultiblockInfo> results = new ArrayList<>();
+
+    public MultiblockScanJob(Player player, Level level, int radius) {
+        this(player, level, radius, ItemsConfig.isMgrParallelAnalysis());
+    }
+
+    public MultiblockScanJob(Player player, Level level, int radius, boolean parallel) {
+        this.player = player;
+        this.parallel = parallel;
+        this.level = level;
+        this.playerVec = player.position();
+        this.maxDetected = ItemsConfig.getMgrMaxDetectedMultiblocks();
+
+        this.pending = UniversalMultiblockScanner.findControllers(level, player.blockPosition(), radius);
+        this.pending.sort(Comparator.comparingDouble(
+                c -> playerVec.distanceToSqr(Vec3.atCenterOf(c.getPos()))));
+    }
+
+    // Analyses controllers until the budget runs out. Returns the multiblocks found in this step.
+    public List<MultiblockInfo> step(long budgetNanos) {
+        List<MultiblockInfo> batch = new ArrayList<>();
+        if (isDone()) return batch;
+
+        if (parallel) {
+            stepParallel(budgetNanos, batch);
+        } else {
+            stepSerial(budgetNanos, batch);
+        }
+
+        // Apply custom display names from the Multi-Structure Manager item (if player is holding it)
+        MultiblockScanner.applyCustomNames(player, batch);
+        return batch;
+    }
+
+    private void stepSerial(long budgetNanos, List<MultiblockInfo> batch) {
+        long deadline = System.nanoTime() + budgetNanos;
+        while (!isDone()) {
+            MultiblockControllerMachine controller = pending.get(cursor++);
+
+            // The controller may have been broken or unloaded since discovery
+            if (!controller.isInValid()) {
+                accept(UniversalMultiblockScanner.detectMultiblock(controller, level), batch);
+            }
+
+            if (System.nanoTime() - deadline >= 0) break;
+        }
+    }
+
+    private void stepParallel(long budgetNanos, List<MultiblockInfo> batch) {
+        // Snapshot as many controllers as the budget allows; capture is the only level access
+        long deadline = System.nanoTime() + budgetNanos;
+        while (cursor < pending.size() && results.size() + inFlight.size() < maxDetected) {
+            MultiblockControllerMachine controller = pending.get(cursor++);
+
+            if (!controller.isInValid()) {
+                MultiblockSnapshot snapshot = UniversalMultiblockScanner.captureSnapshot(controller, level);
+                if (snapshot != null) {
+                    inFlight.add(UniversalMultiblockScanner.analyzeAsync(snapshot));
+                }
+            }
+
+            if (System.nanoTime() - deadline >= 0) break;
+        }
+
+        // Merge finished analyses in submission order so results still arrive nearest-first
+        while (!inFlight.isEmpty() && inFlight.peekFirst().isDone() && results.size() < maxDetected) {
+            DetectedMultiblock detected = inFlight.pollFirst().getNow(null);
+            if (detected != null && !detected.getController().isInValid()) {
+                accept(detected, batch);
+            }
+        }
+    }
+
+    private void accept(DetectedMultiblock detected, List<MultiblockInfo> batch) {
+        if (detected == null) return;
+        try {
+            MultiblockInfo info = MultiblockScanner.convertToMultiblockInfo(detected, playerVec, level);
+            insertSorted(info);
+            batch.add(info);
+        } catch (Exception e) {
+            GTCEUTerminalMod.LOGGER.error("Error converting multiblock {}: {}",
+                    detected.getName(), e.getMessage());
+        }
+    }
+
+    public boolean isDone() {
+        return (cursor >= pending.size() && inFlight.isEmpty()) || results.size() >= maxDetected;
+    }
+
+    public List<MultiblockInfo> getResults() {
+        return results;
+    }
+
+    private void insertSorted(MultiblockInfo info) {
+        // Controllers are processed nearest-first, so this is almost always an append
+        int i = results.size();
+        while (i > 0 && results.get(i - 1).getDistanceFromPlayer() > info.getDistanceFromPlayer()) i--;
+        results.add(i, info);
+    }
+}
@@ -10,6 +10,8 @@ import com.gtceuterminal.common.scanner.UniversalMultiblockScanner.ComponentData
 import com.gtceuterminal.common.item.MultiStructureManagerItem;
 import com.gtceuterminal.common.energy.LinkedMachineData;
 
+import it.unimi.dsi.fastutil.longs.LongSet;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.InteractionHand;
@@ -36,58 +38,18 @@ import java.util.Set;
  */
 public class MultiblockScanner {
 
-    // Scans multiblocks near the player
+    // Scans multiblocks near the player, synchronously. See MultiblockScanJob for the tick-sliced variant.
     public static List<MultiblockInfo> scanNearbyMultiblocks(Player player, Level level, int radius) {
-        List<MultiblockInfo> multiblocks = new ArrayList<>();
-        BlockPos playerPos = player.blockPosition();
-        Vec3 playerVec = player.position();
-
         GTCEUTerminalMod.LOGGER.info("=== Universal Multiblock Scan Started ===");
-        // GTCEUTerminalMod.LOGGER.info("Position: {}, Radius: {}", playerPos, radius);
-
-        // Detects multiblocks
-        List<DetectedMultiblock> detected = UniversalMultiblockScanner.scanForAllMultiblocks(
-                level,
-                playerPos,
-                radius
-        );
-
-        // GTCEUTerminalMod.LOGGER.info("Universal scanner found {} multiblocks", detected.size());
-        // Convert DetectedMultiblock to MultiblockInfo
-        for (DetectedMultiblock mb : detected) {
-            try {
-                MultiblockInfo info = convertToMultiblockInfo(mb, playerVec, level);
-                multiblocks.add(info);
-            } catch (Exception e) {
-                GTCEUTerminalMod.LOGGER.error("Error converting multiblock {}: {}",
-                        mb.getName(), e.getMessage());
-            }
-        }
-
-        // Apply custom display names from the Multi-Structure Manager item (if player is holding it)
-        applyCustomNames(player, multiblocks);
-
-        // Order by distance to the player
-        multiblocks.sort((a, b) -> Double.compare(a.getDistanceFromPlayer(), b.getDistanceFromPlayer()));
-
-        // Apply max detected limit from config
-        int maxDetected = com.gtceuterminal.common.config.ItemsConfig.getMgrMaxDetectedMultiblocks();
-        if (multiblocks.size() > maxDetected) {
-            multiblocks = new ArrayList<>(multiblocks.subList(0, maxDetected));
-        }
+        // GTCEUTerminalMod.LOGGER.info("Position: {}, Radius: {}", player.blockPosition(), radius);
 
-        // Log
-        long uniqueMods = detected.stream()
-                .map(DetectedMultiblock::getModId)
-                .distinct()
-                .count();
-        // GTCEUTerminalMod.LOGGER.info("=== Scan Complete ===");
-        // GTCEUTerminalMod.LOGGER.info("Total multiblocks: {}", multiblocks.size());
-        // GTCEUTerminalMod.LOGGER.info("From {} different mods", uniqueMods);
-        return multiblocks;
+        // Run the job to completion in one go; results are already ordered by distance and capped
+        MultiblockScanJob job = new MultiblockScanJob(player, level, radius, false);
+        job.step(Long.MAX_VALUE);
+        return new ArrayList<>(job.getResults());
     }
 
-    private static void applyCustomNames(Player player, List<MultiblockInfo> multiblocks) {
+    static void applyCustomNames(Player player, List<MultiblockInfo> multiblocks) {
         if (multiblocks.isEmpty()) return;
 
         // Find MSM item in either hand or hotbar
@@ -124,7 +86,7 @@ public class MultiblockScanner {
         return null;
     }
 
-    private static MultiblockInfo convertToMultiblockInfo(
+    static MultiblockInfo convertToMultiblockInfo(
             DetectedMultiblock detected,
             Vec3 playerPos,
             Level level
@@ -155,11 +117,12 @@ public class MultiblockScanner {
         // Add source mod metadata
         info.setSourceMod(detected.getModId());
 
-        // Pre-compute all block positions via flood fill so the highlight system has them ready
-        // This runs on the server during scan, which is fine — blocks are loaded server-side
+        // Pre-compute all block positions (pattern cache, or flood fill) so the highlight system has them ready.
+        // Reuses the set resolved during analysis when available.
         try {
-            Set<BlockPos> allPos = com.gtceuterminal.common.scanner.UniversalMultiblockScanner
-                    .getMultiblockBlocksPublic(detected.getController(), level);
+            LongSet allPos = detected.getBlockPositions() != null
+                    ? detected.getBlockPositions()
+                    : UniversalMultiblockScanner.getMultiblockBlocksPacked(detected.getController(), level);
             if (allPos != null && !allPos.isEmpty()) {
                 info.setAllBlockPositions(allPos);
                 GTCEUTerminalMod.LOGGER.debug("Stored {} block positions for highlight of '{}'",
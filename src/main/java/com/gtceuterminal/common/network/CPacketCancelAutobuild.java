@@ -0,0 +1,36 @@
+package com.gtceuterminal.common.network;
+
+import com.gtceuterminal.common.ae2.MENetworkScanner;
+import com.gtceuterminal.common.ae2.MEStockCache;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Client → Server: the player cancelled the autocraft/build/upgrade dialog.
+ *
+ * Ends the stock watch the analysis started, so the server stops refreshing and
+ * pushing counts for a screen that is no longer open.
+ */
+public class CPacketCancelAutobuild {
+
+    public CPacketCancelAutobuild() {}
+
+    // ── Encode / Decode ───────────────────────────────────────────────────────
+    public void encode(FriendlyByteBuf buf) {}
+
+    public CPacketCancelAutobuild(FriendlyByteBuf buf) {}
+
+    // ── Handler ───────────────────────────────────────────────────────────────
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> {
+            ServerPlayer player = ctx.get().getSender();
+            if (player != null && MENetworkScanner.isAE2Available()) MEStockCache.unwatch(player);
+        });
+        ctx.get().setPacketHandled(true);
+    }
+}
@@ -2,6 +2,8 @@ package com.gtceuterminal.common.network;
 
 import com.gtceuterminal.GTCEUTerminalMod;
 import com.gtceuterminal.common.autocraft.AnalysisResult;
+import com.gtceuterminal.common.ae2.MENetworkScanner;
+import com.gtceuterminal.common.ae2.MEStockCache;
 import com.gtceuterminal.common.ae2.WirelessTerminalHandler;
 import com.gtceuterminal.common.pattern.AdvancedAutoBuilder;
 import com.gtceuterminal.common.upgrade.ComponentUpgrader;
@@ -72,6 +74,9 @@ public class CPacketConfirmAutobuild {
             ServerPlayer player = ctx.get().getSender();
             if (player == null) return;
 
+            // The confirm screen is gone; stop pushing its stock counts
+            if (MENetworkScanner.isAE2Available()) MEStockCache.unwatch(player);
+
             try {
                 if (kind == AnalysisResult.Kind.BUILD) {
                     handleBuild(player);
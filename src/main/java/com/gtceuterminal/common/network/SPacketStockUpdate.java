@@ -0,0 +1,67 @@
+package com.gtceuterminal.common.network;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.Item;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Server → Client: new ME stock counts for items shown on the open
+ * {@link com.gtceuterminal.client.gui.autocraft.AutocraftConfirmScreen}.
+ * Pushed by {@link com.gtceuterminal.common.ae2.MEStockCache} when a watched count changes.
+ */
+public class SPacketStockUpdate {
+
+    private final Map<Item, Long> counts;
+
+    public SPacketStockUpdate(Map<Item, Long> counts) {
+        this.counts = counts;
+    }
+
+    // ── Encode / Decode ───────────────────────────────────────────────────────
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(counts.size());
+        for (Map.Entry<Item, Long> e : counts.entrySet()) {
+            buf.writeId(BuiltInRegistries.ITEM, e.getKey());
+            buf.writeVarLong(e.getValue());
+        }
+    }
+
+    public SPacketStockUpdate(FriendlyByteBuf buf) {
+        int n = buf.readVarInt();
+        this.counts = new LinkedHashMap<>(n);
+        for (int i = 0; i < n; i++) {
+            Item item = buf.readById(BuiltInRegistries.ITEM);
+            long count = buf.readVarLong();
+            if (item != null) counts.put(item, count);
+        }
+    }
+
+    // ── Handler ───────────────────────────────────────────────────────────────
+    public void handle(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() ->
+                DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> handleClient(counts)));
+        ctx.get().setPacketHandled(true);
+    }
+
+    @net.minecraftforge.api.distmarker.OnlyIn(Dist.CLIENT)
+    private static void handleClient(Map<Item, Long> counts) {
+        try {
+            if (net.minecraft.client.Minecraft.getInstance().screen
+                    instanceof com.gtceuterminal.client.gui.autocraft.AutocraftConfirmScreen screen) {
+                screen.updateStock(counts);
+            }
+        } catch (Exception e) {
+            GTCEUTerminalMod.LOGGER.error("SPacketStockUpdate: failed to update confirm screen", e);
+        }
+    }
+}
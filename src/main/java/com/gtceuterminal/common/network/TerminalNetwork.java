@@ -11,7 +11,7 @@ import net.minecraftforge.network.simple.SimpleChannel;
 
 public class TerminalNetwork {
 
-    private static final String PROTOCOL = "4";
+    private static final String PROTOCOL = "6";
     public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
             ResourceLocation.fromNamespaceAndPath(GTCEUTerminalMod.MOD_ID, "network"),
             () -> PROTOCOL,
@@ -83,6 +83,12 @@ public class TerminalNetwork {
                 .consumerMainThread(CPacketConfirmAutobuild::handle)
                 .add();
 
+        CHANNEL.messageBuilder(CPacketCancelAutobuild.class,          id++, NetworkDirection.PLAY_TO_SERVER)
+                .encoder(CPacketCancelAutobuild::encode)
+                .decoder(CPacketCancelAutobuild::new)
+                .consumerMainThread(CPacketCancelAutobuild::handle)
+                .add();
+
         CHANNEL.messageBuilder(CPacketRequestUpgradeAnalysis.class,   id++, NetworkDirection.PLAY_TO_SERVER)
                 .encoder(CPacketRequestUpgradeAnalysis::encode)
                 .decoder(CPacketRequestUpgradeAnalysis::new)
@@ -102,6 +108,12 @@ public class TerminalNetwork {
                 .consumerMainThread(SPacketAnalysisResult::handle)
                 .add();
 
+        CHANNEL.messageBuilder(SPacketStockUpdate.class,             id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(SPacketStockUpdate::encode)
+                .decoder(SPacketStockUpdate::new)
+                .consumerMainThread(SPacketStockUpdate::handle)
+                .add();
+
         GTCEUTerminalMod.LOGGER.info("TerminalNetwork: registered {} packets", id);
     }
 
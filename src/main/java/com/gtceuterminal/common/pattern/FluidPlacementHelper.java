@@ -100,9 +100,18 @@ public class FluidPlacementHelper {
             FluidStack drained = fluidStorage.drain(requiredFluid, IFluidHandler.FluidAction.SIMULATE);
             if (drained.getAmount() >= 1000) {
                 if (placeFluidBlock(world, pos, currentState, fluid, player)) {
-                    // Actually drain the fluid from ME
-                    fluidStorage.drain(requiredFluid, IFluidHandler.FluidAction.EXECUTE);
-                    return true;
+                    // Actually drain the fluid from ME; if the network came up short, undo the
+                    // placement and give back the part it did hand over
+                    FluidStack taken = fluidStorage.drain(requiredFluid, IFluidHandler.FluidAction.EXECUTE);
+                    if (taken.getAmount() >= 1000) {
+                        return true;
+                    }
+                    world.setBlock(pos, currentState, Block.UPDATE_ALL);
+                    if (!taken.isEmpty()
+                            && fluidStorage.fill(taken, IFluidHandler.FluidAction.EXECUTE) < taken.getAmount()) {
+                        GTCEUTerminalMod.LOGGER.warn("Could not return {} mb of {} after a short drain at {}",
+                                taken.getAmount(), taken.getDisplayName().getString(), pos);
+                    }
                 }
             }
         }
@@ -0,0 +1,32 @@
+package com.gtceuterminal.common.scanner;
+
+import com.gtceuterminal.common.multiblock.ComponentType;
+
+// Precomputed classification of a block, as used by the universal scanner
+public final class ComponentClassification {
+
+    // PartAbility-derived type, or null when the block was classified by id heuristics only
+    private final ComponentType abilityType;
+    // Category string reported by the scanner, e.g. "4A Energy Hatch", "COIL", "CASING"
+    private final String displayName;
+    // Amperage prefix such as "16A", or null
+    private final String amperage;
+    private final int tier;
+
+    public ComponentClassification(ComponentType abilityType, String displayName, String amperage, int tier) {
+        this.abilityType = abilityType;
+        this.displayName = displayName;
+        this.amperage = amperage;
+        this.tier = tier;
+    }
+
+    public ComponentType getAbilityType() { return abilityType; }
+    public String getDisplayName() { return displayName; }
+    public String getAmperage() { return amperage; }
+    public int getTier() { return tier; }
+
+    @Override
+    public String toString() {
+        return String.format("%s (T%d)", displayName, tier);
+    }
+}
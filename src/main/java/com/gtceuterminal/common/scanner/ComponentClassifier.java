@@ -0,0 +1,204 @@
+package com.gtceuterminal.common.scanner;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.config.ComponentPattern;
+import com.gtceuterminal.common.config.ComponentPatternRegistry;
+import com.gtceuterminal.common.multiblock.ComponentType;
+
+import com.gregtechceu.gtceu.api.block.IMachineBlock;
+import com.gregtechceu.gtceu.api.machine.MachineDefinition;
+import com.gregtechceu.gtceu.api.machine.MetaMachine;
+import com.gregtechceu.gtceu.api.machine.multiblock.part.MultiblockPartMachine;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.level.block.Block;
+
+/**
+ * Block → ComponentClassification table.
+ * Built once after registries freeze and rebuilt on pattern reload, so classifying a part
+ * or a structure block during a scan is a single identity hash lookup.
+ * All id-based heuristics used by the scanner live here.
+ */
+public class ComponentClassifier {
+
+    // Multiblock part machines, keyed by their block
+    private static volatile Reference2ObjectOpenHashMap<Block, ComponentClassification> partTable = null;
+    // Structural blocks (coils, casings); a miss on a built table means "not structural"
+    private static volatile Reference2ObjectOpenHashMap<Block, ComponentClassification> structureTable = null;
+
+    public static void rebuild() {
+        Reference2ObjectOpenHashMap<Block, ComponentClassification> parts = new Reference2ObjectOpenHashMap<>();
+        Reference2ObjectOpenHashMap<Block, ComponentClassification> structure = new Reference2ObjectOpenHashMap<>();
+
+        for (Block block : BuiltInRegistries.BLOCK) {
+            try {
+                if (block instanceof IMachineBlock machineBlock && machineBlock.getDefinition() != null) {
+                    parts.put(block, computePart(block, machineBlock.getDefinition(), true));
+                }
+                ComponentClassification s = computeStructure(block);
+                if (s != null) structure.put(block, s);
+            } catch (Exception e) {
+                GTCEUTerminalMod.LOGGER.debug("Could not classify block {}: {}",
+                        BuiltInRegistries.BLOCK.getKey(block), e.getMessage());
+            }
+        }
+
+        partTable = parts;
+        structureTable = structure;
+        GTCEUTerminalMod.LOGGER.info("Component classifier built: {} part blocks, {} structure blocks",
+                parts.size(), structure.size());
+    }
+
+    // ─── Lookups ─────────────────────────────────────────────────────────────
+    public static ComponentClassification classifyPart(MetaMachine machine) {
+        MachineDefinition definition = machine.getDefinition();
+        if (definition == null) return null;
+        return classifyPart(machine.getBlockState().getBlock(), definition, machine instanceof MultiblockPartMachine);
+    }
+
+    // Snapshot variant: touches no machine or level state, safe on analysis worker threads
+    public static ComponentClassification classifyPart(Block block, MachineDefinition definition, boolean isPart) {
+        var table = partTable;
+        if (table != null && isPart) {
+            ComponentClassification c = table.get(block);
+            if (c != null) return c;
+        }
+        return computePart(block, definition, isPart);
+    }
+
+    public static ComponentClassification classifyStructure(Block block) {
+        var table = structureTable;
+        if (table != null) return table.get(block);
+        return computeStructure(block);
+    }
+
+    // PartAbility type of a block, or null
+    public static ComponentType abilityType(Block block) {
+        var table = partTable;
+        if (table != null) {
+            ComponentClassification c = table.get(block);
+            if (c != null) return c.getAbilityType();
+        }
+        return PartAbilityMapper.resolveFromBlock(block);
+    }
+
+    // ─── Classification logic ────────────────────────────────────────────────
+    private static ComponentClassification computePart(Block block, MachineDefinition definition, boolean isPart) {
+        String id = definition.getId().toString().toLowerCase();
+        int tier = definition.getTier();
+        String amperage = detectAmperage(id);
+        ComponentType abilityType = PartAbilityMapper.resolveFromBlock(block);
+
+        ComponentPattern pattern = ComponentPatternRegistry.findMatch(id);
+        if (pattern != null) {
+            String displayName = pattern.getDisplayName();
+            if (amperage != null && !displayName.contains(amperage)) {
+                displayName = amperage + " " + displayName;
+            }
+            return new ComponentClassification(abilityType, displayName, amperage, tier);
+        }
+
+        if (isPart && abilityType != null) {
+            String displayName = amperage != null
+                    ? amperage + " " + abilityType.getDisplayName()
+                    : abilityType.getDisplayName();
+            return new ComponentClassification(abilityType, displayName, amperage, tier);
+        }
+
+        String detected = detectByImprovedAnalysis(id);
+        return new ComponentClassification(abilityType,
+                detected != null ? detected : definition.getDescriptionId(), amperage, tier);
+    }
+
+    private static ComponentClassification computeStructure(Block block) {
+        String blockId = block.builtInRegistryHolder().key().location().toString();
+        String blockIdLower = blockId.toLowerCase();
+
+        // Detect coils
+        if (blockIdLower.contains("coil")) {
+            return new ComponentClassification(ComponentType.COIL, "COIL", null, detectCoilTier(blockIdLower));
+        }
+
+        // Detect casings
+        if (blockIdLower.contains("casing")) {
+            return new ComponentClassification(ComponentType.CASING, "CASING", null, 0);
+        }
+
+        return null;
+    }
+
+    static String detectAmperage(String id) {
+        if (id.contains("_65536a")) return "65536A";
+        if (id.contains("_16384a")) return "16384A";
+        if (id.contains("_4096a")) return "4096A";
+        if (id.contains("_1024a")) return "1024A";
+        if (id.contains("_256a")) return "256A";
+        if (id.contains("_64a")) return "64A";
+        if (id.contains("_16a")) return "16A";
+        if (id.contains("_4a")) return "4A";
+        return null;
+    }
+
+    private static String detectByImprovedAnalysis(String id) {
+        // Wireless components (no tienen PartAbility estándar)
+        if (id.contains("wireless")) {
+            if (id.contains("energy")) {
+                if (id.contains("input")) return "Wireless Energy Hatch (Input)";
+                if (id.contains("output")) return "Wireless Energy Hatch (Output)";
+                return "Wireless Energy Hatch";
+            }
+            if (id.contains("laser")) {
+                if (id.contains("target")) return "Wireless Laser Target Hatch";
+                if (id.contains("source")) return "Wireless Laser Source Hatch";
+                return "Wireless Laser Hatch";
+            }
+        }
+
+        // Substation hatches
+        if (id.contains("substation")) {
+            if (id.contains("input")) return "Substation Input Energy Hatch";
+            if (id.contains("output")) return "Substation Output Energy Hatch";
+        }
+
+        // Energy hatches
+        if (id.contains("energy")) {
+            String amperage = detectAmperage(id);
+            String prefix = amperage != null ? amperage + " " : "";
+
+            if (id.contains("output") || id.contains("dynamo")) {
+                return prefix + "Dynamo Hatch";
+            }
+            if (id.contains("input")) {
+                return prefix + "Energy Hatch";
+            }
+        }
+
+        if (id.contains("dynamo")) {
+            String amperage = detectAmperage(id);
+            return (amperage != null ? amperage + " " : "") + "Dynamo Hatch";
+        }
+
+        // Coils
+        if (id.contains("coil")) return "Heating Coil";
+
+        // Casings
+        if (id.contains("casing")) return "Casing";
+
+        return null;
+    }
+
+    private static int detectCoilTier(String lower) {
+        if (lower.contains("cupronickel")) return 0;
+        if (lower.contains("kanthal")) return 1;
+        if (lower.contains("nichrome")) return 2;
+        if (lower.contains("rtm_alloy") || lower.contains("rtmalloy")) return 3;
+        if (lower.contains("hss_g") || lower.contains("hssg")) return 4;
+        if (lower.contains("naquadah") && !lower.contains("enriched")) return 5;
+        if (lower.contains("trinium")) return 6;
+        if (lower.contains("tritanium")) return 7;
+
+        return 0;
+    }
+}
@@ -0,0 +1,162 @@
+package com.gtceuterminal.common.scanner;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+
+import com.gregtechceu.gtceu.api.machine.IMachineBlockEntity;
+import com.gregtechceu.gtceu.api.machine.multiblock.MultiblockControllerMachine;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.TickTask;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-dimension index of multiblock controller positions, stored next to the level data.
+ * Positions are bucketed by chunk so a range query only touches the chunks in range.
+ * Kept up to date by {@link com.gtceuterminal.mixins.MixinMultiblockControllerMachine}.
+ */
+public class MultiblockControllerIndex extends SavedData {
+
+    private static final String DATA_NAME = GTCEUTerminalMod.MOD_ID + "_controllers";
+
+    // ChunkPos.asLong -> BlockPos.asLong of every controller in that chunk
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> byChunk = new Long2ObjectOpenHashMap<>();
+
+    public static MultiblockControllerIndex get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(
+                MultiblockControllerIndex::load, MultiblockControllerIndex::new, DATA_NAME);
+    }
+
+    // ─── Event hooks ─────────────────────────────────────────────────────────
+    public static void onControllerPresent(MultiblockControllerMachine controller) {
+        if (controller.getLevel() instanceof ServerLevel serverLevel) {
+            get(serverLevel).add(controller.getPos());
+        }
+    }
+
+    // Unload and invalidate fire both for chunk unloads and for broken controllers.
+    // Defer the check by a tick: if the chunk is still loaded and the controller is gone, drop it.
+    public static void onControllerMaybeGone(MultiblockControllerMachine controller) {
+        if (!(controller.getLevel() instanceof ServerLevel serverLevel)) return;
+        BlockPos pos = controller.getPos().immutable();
+        var server = serverLevel.getServer();
+        server.tell(new TickTask(server.getTickCount(), () -> {
+            LevelChunk chunk = serverLevel.getChunkSource().getChunkNow(
+                    SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+            if (chunk != null && resolve(chunk, pos) == null) {
+                get(serverLevel).remove(pos);
+            }
+        }));
+    }
+
+    // ─── Index ───────────────────────────────────────────────────────────────
+    public void add(BlockPos pos) {
+        long chunkKey = ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()),
+                SectionPos.blockToSectionCoord(pos.getZ()));
+        if (byChunk.computeIfAbsent(chunkKey, k -> new LongOpenHashSet()).add(pos.asLong())) {
+            setDirty();
+        }
+    }
+
+    public void remove(BlockPos pos) {
+        long chunkKey = ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()),
+                SectionPos.blockToSectionCoord(pos.getZ()));
+        LongOpenHashSet set = byChunk.get(chunkKey);
+        if (set != null && set.remove(pos.asLong())) {
+            if (set.isEmpty()) byChunk.remove(chunkKey);
+            setDirty();
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (LongOpenHashSet set : byChunk.values()) total += set.size();
+        return total;
+    }
+
+    // Returns the loaded controllers inside the cube around center. Stale entries in loaded chunks are pruned.
+    public List<MultiblockControllerMachine> findControllers(ServerLevel level, BlockPos center, int radius) {
+        List<MultiblockControllerMachine> controllers = new ArrayList<>();
+
+        int minX = center.getX() - radius;
+        int maxX = center.getX() + radius;
+        int minY = Math.max(level.getMinBuildHeight(), center.getY() - radius);
+        int maxY = Math.min(level.getMaxBuildHeight(), center.getY() + radius);
+        int minZ = center.getZ() - radius;
+        int maxZ = center.getZ() + radius;
+
+        for (int cx = SectionPos.blockToSectionCoord(minX); cx <= SectionPos.blockToSectionCoord(maxX); cx++) {
+            for (int cz = SectionPos.blockToSectionCoord(minZ); cz <= SectionPos.blockToSectionCoord(maxZ); cz++) {
+                long chunkKey = ChunkPos.asLong(cx, cz);
+                LongOpenHashSet set = byChunk.get(chunkKey);
+                if (set == null) continue;
+
+                // Never load chunks for the query
+                LevelChunk chunk = level.getChunkSource().getChunkNow(cx, cz);
+                if (chunk == null) continue;
+
+                for (LongIterator it = set.iterator(); it.hasNext(); ) {
+                    long packed = it.nextLong();
+                    int x = BlockPos.getX(packed), y = BlockPos.getY(packed), z = BlockPos.getZ(packed);
+                    if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) continue;
+
+                    MultiblockControllerMachine controller = resolve(chunk, BlockPos.of(packed));
+                    if (controller != null) {
+                        controllers.add(controller);
+                    } else {
+                        it.remove();
+                        setDirty();
+                    }
+                }
+                if (set.isEmpty()) byChunk.remove(chunkKey);
+            }
+        }
+
+        return controllers;
+    }
+
+    private static MultiblockControllerMachine resolve(LevelChunk chunk, BlockPos pos) {
+        // Look up the existing block entity only — do not let the chunk create one
+        var be = chunk.getBlockEntities().get(pos);
+        if (be instanceof IMachineBlockEntity machineBlockEntity
+                && machineBlockEntity.getMetaMachine() instanceof MultiblockControllerMachine controller) {
+            return controller;
+        }
+        return null;
+    }
+
+    // ─── NBT ─────────────────────────────────────────────────────────────────
+    public static MultiblockControllerIndex load(CompoundTag tag) {
+        MultiblockControllerIndex index = new MultiblockControllerIndex();
+        for (long packed : tag.getLongArray("Controllers")) {
+            index.add(BlockPos.of(packed));
+        }
+        index.setDirty(false);
+        return index;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        long[] packed = new long[size()];
+        int i = 0;
+        for (Long2ObjectMap.Entry<LongOpenHashSet> entry : byChunk.long2ObjectEntrySet()) {
+            for (LongIterator it = entry.getValue().iterator(); it.hasNext(); ) {
+                packed[i++] = it.nextLong();
+            }
+        }
+        tag.putLongArray("Controllers", packed);
+        return tag;
+    }
+}
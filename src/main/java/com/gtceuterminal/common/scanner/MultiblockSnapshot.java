@@ -0,0 +1,120 @@
+package com.gtceuterminal.common.scanner;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+import com.gtceuterminal.common.scanner.UniversalMultiblockScanner.ComponentData;
+import com.gtceuterminal.common.scanner.UniversalMultiblockScanner.DetectedMultiblock;
+
+import com.gregtechceu.gtceu.api.machine.MachineDefinition;
+import com.gregtechceu.gtceu.api.machine.MetaMachine;
+import com.gregtechceu.gtceu.api.machine.multiblock.MultiblockControllerMachine;
+import com.gregtechceu.gtceu.api.machine.multiblock.part.MultiblockPartMachine;
+
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of everything the scanner needs to analyse one formed multiblock.
+ * Captured on the level's thread; analyse() only reads the snapshot and the classifier
+ * tables, so it can run on a worker thread.
+ */
+public final class MultiblockSnapshot {
+
+    // A part machine as seen at capture time
+    private record PartEntry(Block block, MachineDefinition definition, boolean isPart, BlockPos pos) {}
+
+    private final MultiblockControllerMachine controller;
+    private final BlockPos position;
+    private final String name;
+    private final String modId;
+    private final int tier;
+
+    private final List<PartEntry> parts;
+    // Structure positions (BlockPos.asLong) and the block found at each, index-aligned
+    private final long[] structurePositions;
+    private final Block[] structureBlocks;
+    // The pattern cache / flood fill result, handed through to DetectedMultiblock
+    private final LongSet blockPositions;
+
+    private MultiblockSnapshot(MultiblockControllerMachine controller, BlockPos position, String name, String modId,
+                               int tier, List<PartEntry> parts, long[] structurePositions, Block[] structureBlocks,
+                               LongSet blockPositions) {
+        this.controller = controller;
+        this.position = position;
+        this.name = name;
+        this.modId = modId;
+        this.tier = tier;
+        this.parts = parts;
+        this.structurePositions = structurePositions;
+        this.structureBlocks = structureBlocks;
+        this.blockPositions = blockPositions;
+    }
+
+    // ─── Capture (level thread) ───────────────────────────────────────────────
+    static MultiblockSnapshot capture(MultiblockControllerMachine controller, BlockPos pos, String name, String modId,
+                                      int tier, List<MetaMachine> machines, LongSet blocks, boolean includeStructure,
+                                      Level level) {
+        List<PartEntry> parts = new ArrayList<>(machines.size());
+        for (MetaMachine machine : machines) {
+            MachineDefinition definition = machine.getDefinition();
+            if (definition == null) continue;
+            parts.add(new PartEntry(machine.getBlockState().getBlock(), definition,
+                    machine instanceof MultiblockPartMachine, machine.getPos().immutable()));
+        }
+
+        // Structure blocks are only classified when the controller reported its parts
+        long[] positions = includeStructure ? blocks.toLongArray() : new long[0];
+        Block[] states = new Block[positions.length];
+        BlockPos.MutableBlockPos probe = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < positions.length; i++) {
+            states[i] = level.getBlockState(probe.set(positions[i])).getBlock();
+        }
+
+        return new MultiblockSnapshot(controller, pos, name, modId, tier, List.copyOf(parts), positions, states, blocks);
+    }
+
+    // ─── Analyse (any thread) ─────────────────────────────────────────────────
+    DetectedMultiblock analyze() {
+        Map<String, List<ComponentData>> components = new HashMap<>();
+
+        for (PartEntry part : parts) {
+            try {
+                ComponentClassification classification =
+                        ComponentClassifier.classifyPart(part.block(), part.definition(), part.isPart());
+                String type = classification != null ? classification.getDisplayName() : "Unknown Component";
+                int partTier = classification != null ? classification.getTier() : 0;
+
+                components.computeIfAbsent(type, k -> new ArrayList<>())
+                        .add(new ComponentData(type, part.definition().getDescriptionId(), partTier, part.pos()));
+            } catch (Exception e) {
+                GTCEUTerminalMod.LOGGER.debug("Error analyzing component: {}", e.getMessage());
+            }
+        }
+
+        int structureBlocksFound = 0;
+        for (int i = 0; i < structurePositions.length; i++) {
+            ComponentClassification classification = ComponentClassifier.classifyStructure(structureBlocks[i]);
+            if (classification == null) continue;
+
+            components.computeIfAbsent(classification.getDisplayName(), k -> new ArrayList<>())
+                    .add(new ComponentData(classification.getDisplayName(), structureBlocks[i].getName().getString(),
+                            classification.getTier(), BlockPos.of(structurePositions[i])));
+            structureBlocksFound++;
+        }
+
+        GTCEUTerminalMod.LOGGER.debug("Found {} structure components from {} structure blocks",
+                structureBlocksFound, structurePositions.length);
+
+        return new DetectedMultiblock(name, modId, position, tier, components, controller, blockPositions);
+    }
+
+    public MultiblockControllerMachine getController() { return controller; }
+    public BlockPos getPosition() { return position; }
+}
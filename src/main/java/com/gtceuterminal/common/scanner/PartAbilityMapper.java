@@ -112,10 +112,16 @@ public class PartAbilityMapper {
     /**
      * Detect ComponentType from a Block using PartAbility registry
      * This is the MOST RELIABLE method - uses GTCEu's official registry
+     * Served from the precomputed {@link ComponentClassifier} table when it is built.
      * @param block The block to check
      * @return The corresponding ComponentType, or null if not found
      */
     public static ComponentType detectFromBlock(Block block) {
+        return ComponentClassifier.abilityType(block);
+    }
+
+    // Uncached PartAbility resolution, used to build the classifier table
+    static ComponentType resolveFromBlock(Block block) {
         // Get block ID for specific checks
         String blockId = BuiltInRegistries.BLOCK.getKey(block).toString();
 
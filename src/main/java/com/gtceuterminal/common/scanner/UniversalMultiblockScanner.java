@@ -1,24 +1,38 @@
 package com.gtceuterminal.common.scanner;
 
 import com.gtceuterminal.GTCEUTerminalMod;
-import com.gtceuterminal.common.config.ComponentPattern;
-import com.gtceuterminal.common.config.ComponentPatternRegistry;
-import com.gtceuterminal.common.multiblock.ComponentType;
+import com.gtceuterminal.common.config.CoilConfig;
 
 import com.gregtechceu.gtceu.api.machine.IMachineBlockEntity;
 import com.gregtechceu.gtceu.api.machine.MetaMachine;
+import com.gregtechceu.gtceu.api.machine.feature.multiblock.IMultiController;
 import com.gregtechceu.gtceu.api.machine.multiblock.MultiblockControllerMachine;
 import com.gregtechceu.gtceu.api.pattern.MultiblockState;
 import com.gregtechceu.gtceu.api.machine.multiblock.part.MultiblockPartMachine;
 
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 /**
  * Universal Multiblock Detection System
@@ -38,11 +52,108 @@ public class UniversalMultiblockScanner {
     private static final int MAX_SCAN_SIZE_XZ = 48;
     private static final int MAX_SCAN_SIZE_Y  = 48;
     private static final int BOUNDS_PADDING = 2;
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     // Scan the area looking for ALL the multiblocks formed
     public static List<DetectedMultiblock> scanForAllMultiblocks(Level level, BlockPos center, int radius) {
         List<DetectedMultiblock> found = new ArrayList<>();
-        Set<BlockPos> scannedControllers = new HashSet<>();
+
+        // GTCEUTerminalMod.LOGGER.info("Scanning for universal multiblocks in radius {} from {}", radius, center);
+
+        for (MultiblockControllerMachine controller : findControllers(level, center, radius)) {
+            DetectedMultiblock detected = detectMultiblock(controller, level);
+            if (detected != null) {
+                found.add(detected);
+            }
+        }
+
+        GTCEUTerminalMod.LOGGER.info("Total multiblocks found: {}", found.size());
+        return found;
+    }
+
+    // Finds every controller in range without analysing it.
+    // Server side: range query against the persistent controller index.
+    // Client side: walk the block entities of the loaded chunks.
+    public static List<MultiblockControllerMachine> findControllers(Level level, BlockPos center, int radius) {
+        return level instanceof ServerLevel serverLevel
+                ? MultiblockControllerIndex.get(serverLevel).findControllers(serverLevel, center, radius)
+                : findControllersInLoadedChunks(level, center, radius);
+    }
+
+    // Analyses a single controller; returns null if it is not formed or analysis fails
+    public static DetectedMultiblock detectMultiblock(MultiblockControllerMachine controller, Level level) {
+        // Check if it is formed
+        if (!isMultiblockFormed(controller)) return null;
+
+        BlockPos immutablePos = controller.getPos().immutable();
+        DetectedMultiblock detected = analyzeMultiblock(controller, immutablePos, level);
+        if (detected != null) {
+            GTCEUTerminalMod.LOGGER.info("Found multiblock: {} at {}",
+                    detected.getName(), immutablePos);
+        }
+        return detected;
+    }
+
+    // ─── Snapshot-and-analyse ─────────────────────────────────────────────────
+    // Bounded pool for off-thread analysis; leaves at least one core to the server and render threads
+    private static final ForkJoinPool ANALYSIS_POOL = new ForkJoinPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("GTCEUTerminal-Analysis-" + thread.getPoolIndex());
+                // Workers must resolve mod classes through the mod class loader
+                thread.setContextClassLoader(UniversalMultiblockScanner.class.getClassLoader());
+                return thread;
+            },
+            null, true);
+
+    // Reads everything analysis needs from the level. Must run on the level's thread.
+    // Returns null if the controller is not formed or capture fails.
+    public static MultiblockSnapshot captureSnapshot(MultiblockControllerMachine controller, Level level) {
+        if (!isMultiblockFormed(controller)) return null;
+
+        BlockPos pos = controller.getPos().immutable();
+        try {
+            List<MetaMachine> machines = new ArrayList<>();
+            Set<BlockPos> alreadyScanned = new HashSet<>();
+            var parts = controller.getParts();
+            boolean hasParts = parts != null && !parts.isEmpty();
+            if (hasParts) {
+                for (var part : parts) {
+                    if (part == null || part.self() == null) continue;
+                    machines.add(part.self());
+                    alreadyScanned.add(part.self().getPos());
+                }
+            }
+            machines.addAll(findWirelessAndAddonParts(controller, level, alreadyScanned));
+
+            return MultiblockSnapshot.capture(controller, pos,
+                    getMultiblockName(controller), getMultiblockModId(controller), getMultiblockTier(controller),
+                    machines, getMultiblockBlocksPacked(controller, level), hasParts, level);
+
+        } catch (Exception e) {
+            GTCEUTerminalMod.LOGGER.error("Error capturing multiblock at {}: {}", pos, e.getMessage());
+            return null;
+        }
+    }
+
+    // Classifies and groups a snapshot on the analysis pool. Completes with null if analysis fails.
+    public static CompletableFuture<DetectedMultiblock> analyzeAsync(MultiblockSnapshot snapshot) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return snapshot.analyze();
+            } catch (Exception e) {
+                GTCEUTerminalMod.LOGGER.error("Error analyzing multiblock at {}: {}",
+                        snapshot.getPosition(), e.getMessage());
+                return null;
+            }
+        }, ANALYSIS_POOL);
+    }
+
+    // Collects every controller inside the scan cube by walking the block entity map of each
+    // loaded chunk in range. Cost scales with block entities, not volume, and never loads chunks.
+    public static List<MultiblockControllerMachine> findControllersInLoadedChunks(Level level, BlockPos center, int radius) {
+        List<MultiblockControllerMachine> controllers = new ArrayList<>();
 
         int minX = center.getX() - radius;
         int maxX = center.getX() + radius;
@@ -51,35 +162,30 @@ public class UniversalMultiblockScanner {
         int minZ = center.getZ() - radius;
         int maxZ = center.getZ() + radius;
 
-        // GTCEUTerminalMod.LOGGER.info("Scanning for universal multiblocks in radius {} from {}", radius, center);
+        for (int cx = SectionPos.blockToSectionCoord(minX); cx <= SectionPos.blockToSectionCoord(maxX); cx++) {
+            for (int cz = SectionPos.blockToSectionCoord(minZ); cz <= SectionPos.blockToSectionCoord(maxZ); cz++) {
+                // getChunkNow only returns chunks that are already fully loaded
+                LevelChunk chunk = level.getChunkSource().getChunkNow(cx, cz);
+                if (chunk == null) continue;
+
+                // Copy: analysis may lazily create block entities in this chunk
+                for (BlockEntity be : new ArrayList<>(chunk.getBlockEntities().values())) {
+                    if (!(be instanceof IMachineBlockEntity machineBlockEntity)) continue;
+
+                    BlockPos pos = be.getBlockPos();
+                    if (pos.getX() < minX || pos.getX() > maxX
+                            || pos.getY() < minY || pos.getY() > maxY
+                            || pos.getZ() < minZ || pos.getZ() > maxZ) continue;
 
-        for (BlockPos pos : BlockPos.betweenClosed(minX, minY, minZ, maxX, maxY, maxZ)) {
-            if (scannedControllers.contains(pos)) continue;
-
-            BlockEntity be = level.getBlockEntity(pos);
-            if (be instanceof IMachineBlockEntity machineBlockEntity) {
-                MetaMachine metaMachine = machineBlockEntity.getMetaMachine();
-
-                // Detect if it is a MultiblockController
-                if (metaMachine instanceof MultiblockControllerMachine controller) {
-                    BlockPos immutablePos = pos.immutable();
-                    scannedControllers.add(immutablePos);
-
-                    // Check if it is formed
-                    if (isMultiblockFormed(controller)) {
-                        DetectedMultiblock detected = analyzeMultiblock(controller, immutablePos, level);
-                        if (detected != null) {
-                            found.add(detected);
-                            GTCEUTerminalMod.LOGGER.info("Found multiblock: {} at {}",
-                                    detected.getName(), immutablePos);
-                        }
+                    // Detect if it is a MultiblockController
+                    if (machineBlockEntity.getMetaMachine() instanceof MultiblockControllerMachine controller) {
+                        controllers.add(controller);
                     }
                 }
             }
         }
 
-        GTCEUTerminalMod.LOGGER.info("Total multiblocks found: {}", found.size());
-        return found;
+        return controllers;
     }
 
     private static boolean isMultiblockFormed(MultiblockControllerMachine controller) {
@@ -119,8 +225,11 @@ public class UniversalMultiblockScanner {
             String modId = getMultiblockModId(controller);
             int tier = getMultiblockTier(controller);
 
+            // Resolve the structure block set once; reused for components and the highlight
+            LongSet blocks = getMultiblockBlocksPacked(controller, level);
+
             // Extract all components from the multiblock
-            Map<String, List<ComponentData>> components = extractAllComponents(controller, level);
+            Map<String, List<ComponentData>> components = extractAllComponents(controller, level, blocks);
 
             return new DetectedMultiblock(
                     name,
@@ -128,7 +237,8 @@ public class UniversalMultiblockScanner {
                     pos,
                     tier,
                     components,
-                    controller
+                    controller,
+                    blocks
             );
 
         } catch (Exception e) {
@@ -210,7 +320,8 @@ public class UniversalMultiblockScanner {
     // Remove ALL components from the multiblock
     private static Map<String, List<ComponentData>> extractAllComponents(
             MultiblockControllerMachine controller,
-            Level level
+            Level level,
+            LongSet blocks
     ) {
         Map<String, List<ComponentData>> components = new HashMap<>();
         Set<BlockPos> alreadyScanned = new HashSet<>();  // ⭐ NUEVO: Track escaneados
@@ -237,7 +348,7 @@ public class UniversalMultiblockScanner {
             }
 
             // Also extract structural components (coils, casings)
-            extractStructureComponents(controller, level, components);
+            extractStructureComponents(blocks, level, components);
 
             detectWirelessAndAddonComponents(controller, level, components, alreadyScanned);
 
@@ -254,6 +365,22 @@ public class UniversalMultiblockScanner {
             Map<String, List<ComponentData>> components,
             Set<BlockPos> alreadyScanned) {
 
+        for (MetaMachine machine : findWirelessAndAddonParts(controller, level, alreadyScanned)) {
+            ComponentData data = analyzeComponent(machine, level);
+            if (data != null) {
+                components.computeIfAbsent(data.getCategory(), k -> new ArrayList<>())
+                        .add(data);
+            }
+        }
+    }
+
+    // Wireless / laser / data parts near the controller that belong to it but are not in getParts()
+    private static List<MetaMachine> findWirelessAndAddonParts(
+            MultiblockControllerMachine controller,
+            Level level,
+            Set<BlockPos> alreadyScanned) {
+
+        List<MetaMachine> found = new ArrayList<>();
         try {
             BlockPos controllerPos = controller.getPos();
             int scanRadius = 5;
@@ -275,68 +402,23 @@ public class UniversalMultiblockScanner {
 
                     String blockId = definition.getId().toString().toLowerCase();
 
-                    if (machine instanceof MultiblockPartMachine part) {
-                        BlockPos wanted = controller.getPos();
-                        BlockPos got = null;
-
-                        // A) getControllerPos()
-                        try {
-                            var m = part.getClass().getMethod("getControllerPos");
-                            Object p = m.invoke(part);
-                            if (p instanceof BlockPos bp) got = bp;
-                        } catch (Throwable ignored) {}
-
-                        // B) getController() -> getPos()
-                        if (got == null) {
-                            try {
-                                var m = part.getClass().getMethod("getController");
-                                Object ctrl = m.invoke(part);
-                                if (ctrl != null) {
-                                    try {
-                                        var getPos = ctrl.getClass().getMethod("getPos");
-                                        Object p = getPos.invoke(ctrl);
-                                        if (p instanceof BlockPos bp) got = bp;
-                                    } catch (Throwable ignored) {}
-                                }
-                            } catch (Throwable ignored) {}
-                        }
-
-                        if (got == null || !got.equals(wanted)) {
-                            continue;
-                        }
-                    } else {
+                    if (!(machine instanceof MultiblockPartMachine part) || !isPartOf(part, controllerPos)) {
                         continue;
                     }
 
                     // Detect wireless energy components
-                    if (blockId.contains("wireless")) {
-                        if (blockId.contains("energy")) {
-                            ComponentData data = analyzeComponent(machine, level);
-                            if (data != null) {
-                                components.computeIfAbsent(data.getCategory(), k -> new ArrayList<>())
-                                        .add(data);
-                                alreadyScanned.add(pos);
-
-                                GTCEUTerminalMod.LOGGER.info("Detected wireless component: {} at {}",
-                                        blockId, pos);
-                            }
-                        }
-                    }
-
-                    if (blockId.contains("laser") ||
+                    boolean wireless = blockId.contains("wireless") && blockId.contains("energy");
+                    boolean addon = blockId.contains("laser") ||
                             blockId.contains("data") ||
                             blockId.contains("optical") ||
-                            blockId.contains("computation")) {
+                            blockId.contains("computation");
 
-                        ComponentData data = analyzeComponent(machine, level);
-                        if (data != null) {
-                            components.computeIfAbsent(data.getCategory(), k -> new ArrayList<>())
-                                    .add(data);
-                            alreadyScanned.add(pos);
+                    if (wireless || addon) {
+                        found.add(machine);
+                        alreadyScanned.add(pos.immutable());
 
-                            GTCEUTerminalMod.LOGGER.info("Detected addon component: {} at {}",
-                                    blockId, pos);
-                        }
+                        GTCEUTerminalMod.LOGGER.info("Detected {} component: {} at {}",
+                                wireless ? "wireless" : "addon", blockId, pos);
                     }
                 }
             }
@@ -344,157 +426,90 @@ public class UniversalMultiblockScanner {
         } catch (Exception e) {
             GTCEUTerminalMod.LOGGER.error("Error detecting wireless/addon components: {}", e.getMessage());
         }
+        return found;
     }
 
-    // Analyze an individual component and categorize it
-    private static ComponentData analyzeComponent(MetaMachine machine, Level level) {
+    // Whether the part reports the given controller. Typed IMultiPart API first,
+    // then cached reflective accessors for addon parts that only expose their own getters.
+    private static boolean isPartOf(MultiblockPartMachine part, BlockPos wanted) {
         try {
-            String type = detectComponentType(machine);
-
-            // getTier() is in MachineDefinition
-            int tier = 0;
-            var definition = machine.getDefinition();
-            if (definition != null) {
-                tier = definition.getTier();
+            for (IMultiController c : part.getControllers()) {
+                if (c != null && wanted.equals(c.self().getPos())) return true;
             }
+        } catch (Throwable ignored) {}
 
-            BlockPos pos = machine.getPos();
-            String name = definition != null ? definition.getDescriptionId() : "Unknown";
+        ControllerAccessors accessors = CONTROLLER_ACCESSORS.get(part.getClass());
+        BlockPos got = null;
 
-            return new ComponentData(type, name, tier, pos);
-
-        } catch (Exception e) {
-            GTCEUTerminalMod.LOGGER.debug("Error analyzing component: {}", e.getMessage());
-            return null;
+        // A) getControllerPos()
+        if (accessors.getControllerPos != null) {
+            try {
+                Object p = accessors.getControllerPos.invoke(part);
+                if (p instanceof BlockPos bp) got = bp;
+            } catch (Throwable ignored) {}
         }
-    }
-
-
-    // Detects component type automatically
-    private static String detectComponentType(MetaMachine machine) {
-        try {
-            var definition = machine.getDefinition();
-            if (definition == null) return "Unknown Component";
-
-            String id = definition.getId().toString().toLowerCase();
-
-            ComponentPattern pattern = ComponentPatternRegistry.findMatch(id);
-            if (pattern != null) {
-                GTCEUTerminalMod.LOGGER.debug("Matched pattern '{}' for block '{}'",
-                        pattern.getPattern(), id);
 
-                String displayName = pattern.getDisplayName();
-
-                String amperage = detectAmperage(id);
-                if (amperage != null && !displayName.contains(amperage)) {
-                    displayName = amperage + " " + displayName;
-                }
-
-                return displayName;
-            }
-
-            if (machine instanceof MultiblockPartMachine) {
-                var block = machine.getBlockState().getBlock();
-                ComponentType type = PartAbilityMapper.detectFromBlock(block);
-
-                if (type != null) {
-                    GTCEUTerminalMod.LOGGER.debug("Detected by PartAbility registry: {}",
-                            type.getDisplayName());
-
-                    String amperage = detectAmperage(id);
-                    if (amperage != null) {
-                        return amperage + " " + type.getDisplayName();
-                    }
-
-                    if (type == null || type == ComponentType.UNKNOWN) {
-                        String blockId = BuiltInRegistries.BLOCK.getKey(block).toString();
-
-                        if (blockId.contains("wireless_energy_input")) {
-                            type = ComponentType.WIRELESS_ENERGY_INPUT;
-                        } else if (blockId.contains("wireless_energy_output")) {
-                            type = ComponentType.WIRELESS_ENERGY_OUTPUT;
-                        } else if (blockId.contains("wireless_laser_target")) {
-                            type = ComponentType.WIRELESS_LASER_INPUT;
-                        } else if (blockId.contains("wireless_laser_source")) {
-                            type = ComponentType.WIRELESS_LASER_OUTPUT;
-                        }
-                    }
-
-                    return type.getDisplayName();
+        // B) getController() -> getPos()
+        if (got == null && accessors.getController != null) {
+            try {
+                Object ctrl = accessors.getController.invoke(part);
+                if (ctrl instanceof MetaMachine mm) {
+                    got = mm.getPos();
+                } else if (ctrl instanceof IMultiController mc) {
+                    got = mc.self().getPos();
+                } else if (ctrl != null) {
+                    MethodHandle getPos = GET_POS.get(ctrl.getClass());
+                    if (getPos != null && getPos.invoke(ctrl) instanceof BlockPos bp) got = bp;
                 }
-            }
-
-            String detected = detectByImprovedAnalysis(id);
-            if (detected != null) {
-                return detected;
-            }
-
-            return definition.getDescriptionId();
-
-        } catch (Exception e) {
-            GTCEUTerminalMod.LOGGER.debug("Could not detect component type: {}", e.getMessage());
-            return "Unknown Component";
+            } catch (Throwable ignored) {}
         }
-    }
 
-    private static String detectAmperage(String id) {
-        if (id.contains("_65536a")) return "65536A";
-        if (id.contains("_16384a")) return "16384A";
-        if (id.contains("_4096a")) return "4096A";
-        if (id.contains("_1024a")) return "1024A";
-        if (id.contains("_256a")) return "256A";
-        if (id.contains("_64a")) return "64A";
-        if (id.contains("_16a")) return "16A";
-        if (id.contains("_4a")) return "4A";
-        return null;
+        return wanted.equals(got);
     }
 
-    private static String detectByImprovedAnalysis(String id) {
-        // Wireless components (no tienen PartAbility estándar)
-        if (id.contains("wireless")) {
-            if (id.contains("energy")) {
-                if (id.contains("input")) return "Wireless Energy Hatch (Input)";
-                if (id.contains("output")) return "Wireless Energy Hatch (Output)";
-                return "Wireless Energy Hatch";
-            }
-            if (id.contains("laser")) {
-                if (id.contains("target")) return "Wireless Laser Target Hatch";
-                if (id.contains("source")) return "Wireless Laser Source Hatch";
-                return "Wireless Laser Hatch";
-            }
-        }
+    // Resolved once per class; null handles are cached misses
+    private record ControllerAccessors(MethodHandle getControllerPos, MethodHandle getController) {}
 
-        // Substation hatches
-        if (id.contains("substation")) {
-            if (id.contains("input")) return "Substation Input Energy Hatch";
-            if (id.contains("output")) return "Substation Output Energy Hatch";
+    private static final ClassValue<ControllerAccessors> CONTROLLER_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected ControllerAccessors computeValue(Class<?> type) {
+            return new ControllerAccessors(findNoArgMethod(type, "getControllerPos"), findNoArgMethod(type, "getController"));
         }
+    };
 
-        // Energy hatches
-        if (id.contains("energy")) {
-            String amperage = detectAmperage(id);
-            String prefix = amperage != null ? amperage + " " : "";
-
-            if (id.contains("output") || id.contains("dynamo")) {
-                return prefix + "Dynamo Hatch";
-            }
-            if (id.contains("input")) {
-                return prefix + "Energy Hatch";
-            }
+    private static final ClassValue<MethodHandle> GET_POS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findNoArgMethod(type, "getPos");
         }
+    };
 
-        if (id.contains("dynamo")) {
-            String amperage = detectAmperage(id);
-            return (amperage != null ? amperage + " " : "") + "Dynamo Hatch";
+    private static MethodHandle findNoArgMethod(Class<?> type, String name) {
+        try {
+            return MethodHandles.publicLookup().unreflect(type.getMethod(name));
+        } catch (Throwable e) {
+            return null;
         }
+    }
 
-        // Coils
-        if (id.contains("coil")) return "Heating Coil";
+    // Analyze an individual component and categorize it
+    private static ComponentData analyzeComponent(MetaMachine machine, Level level) {
+        try {
+            // Type and tier come from the precomputed Block -> classification table
+            ComponentClassification classification = ComponentClassifier.classifyPart(machine);
+            String type = classification != null ? classification.getDisplayName() : "Unknown Component";
+            int tier = classification != null ? classification.getTier() : 0;
+
+            var definition = machine.getDefinition();
+            BlockPos pos = machine.getPos();
+            String name = definition != null ? definition.getDescriptionId() : "Unknown";
 
-        // Casings
-        if (id.contains("casing")) return "Casing";
+            return new ComponentData(type, name, tier, pos);
 
-        return null;
+        } catch (Exception e) {
+            GTCEUTerminalMod.LOGGER.debug("Error analyzing component: {}", e.getMessage());
+            return null;
+        }
     }
 
     // Helper method
@@ -507,7 +522,7 @@ public class UniversalMultiblockScanner {
 
 
     // Extracts components from the structure, scans the multiblock pattern
-    private static boolean isCandidate(BlockState state) {
+    private static boolean isCandidate(BlockState state, Reference2IntMap<Block> coilTiers) {
         if (state == null || state.isAir()) return false;
 
         try {
@@ -516,17 +531,31 @@ public class UniversalMultiblockScanner {
         } catch (Exception ignored) {}
 
         // Allow configured coil blocks
-        return com.gtceuterminal.common.config.CoilConfig.getCoilTier(state) >= 0;
+        return coilTiers.getInt(state.getBlock()) >= 0;
     }
 
-    // Gets all blocks from the multiblock using flood fill — public wrapper for MSM highlight
-    public static Set<BlockPos> getMultiblockBlocksPublic(MultiblockControllerMachine controller, Level level) {
-        return getMultiblockBlocks(controller, level);
+    // Gets all blocks from the multiblock as BlockPos.asLong keys.
+    // Primary: the GTCEu pattern cache (exact block set of the formed structure). Fallback: flood fill.
+    public static LongSet getMultiblockBlocksPacked(MultiblockControllerMachine controller, Level level) {
+        try {
+            MultiblockState state = controller.getMultiblockState();
+            Collection<BlockPos> cached = state != null ? state.getCache() : null;
+            if (cached != null && !cached.isEmpty()) {
+                LongOpenHashSet positions = new LongOpenHashSet(cached.size() + 1);
+                for (BlockPos p : cached) positions.add(p.asLong());
+                positions.add(controller.getPos().asLong());
+                return positions;
+            }
+        } catch (Exception e) {
+            GTCEUTerminalMod.LOGGER.debug("Multiblock cache unavailable at {}, using flood fill", controller.getPos());
+        }
+
+        return floodFillBlocks(controller, level);
     }
 
     // Gets all blocks from the multiblock using flood fill
-    private static Set<BlockPos> getMultiblockBlocks(MultiblockControllerMachine controller, Level level) {
-        Set<BlockPos> positions = new HashSet<>();
+    private static LongSet floodFillBlocks(MultiblockControllerMachine controller, Level level) {
+        LongOpenHashSet positions = new LongOpenHashSet();
         BlockPos controllerPos = controller.getPos();
 
         try {
@@ -538,9 +567,9 @@ public class UniversalMultiblockScanner {
             if (parts != null && !parts.isEmpty()) {
                 for (var part : parts) {
                     if (part != null && part.self() != null) {
-                        BlockPos p = part.self().getPos().immutable();
+                        BlockPos p = part.self().getPos();
                         anchors.add(p);
-                        positions.add(p);
+                        positions.add(p.asLong());
                     }
                 }
             }
@@ -549,35 +578,52 @@ public class UniversalMultiblockScanner {
             Bounds b = Bounds.fromAnchors(anchors, BOUNDS_PADDING);
             b = b.clampToMaxSize(controllerPos, MAX_SCAN_SIZE_XZ, MAX_SCAN_SIZE_Y);
 
+            // One coil lookup table for the whole flood fill
+            Reference2IntMap<Block> coilTiers = CoilConfig.getCoilTierLookup();
+
             // Add controller if candidate
-            if (isCandidate(level.getBlockState(controllerPos))) {
-                positions.add(controllerPos.immutable());
+            if (isCandidate(level.getBlockState(controllerPos), coilTiers)) {
+                positions.add(controllerPos.asLong());
             }
 
-            // 3. Flood-fill connected blocks
-            ArrayDeque<BlockPos> queue = new ArrayDeque<>();
-            Set<BlockPos> visited = new HashSet<>();
+            // 3. Flood-fill connected blocks. Visited is a dense bitmap over the clamped box;
+            //    anchors outside the box are only used as seeds.
+            int sizeY = b.maxY - b.minY + 1;
+            int sizeZ = b.maxZ - b.minZ + 1;
+            BitSet visited = new BitSet((b.maxX - b.minX + 1) * sizeY * sizeZ);
+            LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+            BlockPos.MutableBlockPos probe = new BlockPos.MutableBlockPos();
 
             for (BlockPos a : anchors) {
                 if (a == null) continue;
-                if (visited.add(a)) {
-                    queue.add(a);
+                if (b.contains(a.getX(), a.getY(), a.getZ())) {
+                    int idx = b.index(a.getX(), a.getY(), a.getZ(), sizeY, sizeZ);
+                    if (visited.get(idx)) continue;
+                    visited.set(idx);
                 }
+                queue.enqueue(a.asLong());
             }
 
             while (!queue.isEmpty()) {
-                BlockPos cur = queue.poll();
+                long cur = queue.dequeueLong();
+                int cx = BlockPos.getX(cur), cy = BlockPos.getY(cur), cz = BlockPos.getZ(cur);
 
-                for (Direction dir : Direction.values()) {
-                    BlockPos next = cur.relative(dir);
-                    if (!b.contains(next)) continue;
-                    if (!visited.add(next)) continue;
+                for (Direction dir : DIRECTIONS) {
+                    int nx = cx + dir.getStepX();
+                    int ny = cy + dir.getStepY();
+                    int nz = cz + dir.getStepZ();
+                    if (!b.contains(nx, ny, nz)) continue;
 
-                    BlockState s = level.getBlockState(next);
-                    if (!isCandidate(s)) continue;
+                    int idx = b.index(nx, ny, nz, sizeY, sizeZ);
+                    if (visited.get(idx)) continue;
+                    visited.set(idx);
 
-                    positions.add(next.immutable());
-                    queue.add(next);
+                    BlockState s = level.getBlockState(probe.set(nx, ny, nz));
+                    if (!isCandidate(s, coilTiers)) continue;
+
+                    long next = BlockPos.asLong(nx, ny, nz);
+                    positions.add(next);
+                    queue.enqueue(next);
                 }
             }
 
@@ -592,52 +638,24 @@ public class UniversalMultiblockScanner {
 
     // Identify if a block is a structural component (coil, casing, etc.)
     private static ComponentData identifyStructureBlock(BlockState blockState, BlockPos pos, Level level) {
-        String blockId = blockState.getBlock().builtInRegistryHolder().key().location().toString();
-        String blockIdLower = blockId.toLowerCase();
-
-        // Detect coils
-        if (blockIdLower.contains("coil")) {
-            int tier = detectCoilTier(blockId);
-            String coilName = blockState.getBlock().getName().getString();
-            return new ComponentData("COIL", coilName, tier, pos);
-        }
-
-        // Detect casings
-        if (blockIdLower.contains("casing")) {
-            return new ComponentData("CASING", blockState.getBlock().getName().getString(), 0, pos);
-        }
-
-        return null;
-    }
-
-    private static int detectCoilTier(String blockId) {
-        String lower = blockId.toLowerCase();
-
-        if (lower.contains("cupronickel")) return 0;
-        if (lower.contains("kanthal")) return 1;
-        if (lower.contains("nichrome")) return 2;
-        if (lower.contains("rtm_alloy") || lower.contains("rtmalloy")) return 3;
-        if (lower.contains("hss_g") || lower.contains("hssg")) return 4;
-        if (lower.contains("naquadah") && !lower.contains("enriched")) return 5;
-        if (lower.contains("trinium")) return 6;
-        if (lower.contains("tritanium")) return 7;
+        ComponentClassification classification = ComponentClassifier.classifyStructure(blockState.getBlock());
+        if (classification == null) return null;
 
-        return 0;
+        String name = blockState.getBlock().getName().getString();
+        return new ComponentData(classification.getDisplayName(), name, classification.getTier(), pos);
     }
 
     private static void extractStructureComponents(
-            MultiblockControllerMachine controller,
+            LongSet positions,
             Level level,
             Map<String, List<ComponentData>> components
     ) {
         try {
-            // Use flood fill to get all blocks of the multiblock
-            Set<BlockPos> positions = getMultiblockBlocks(controller, level);
-
             int structureBlocksFound = 0;
 
             // Identify coils and casings
-            for (BlockPos pos : positions) {
+            for (LongIterator it = positions.iterator(); it.hasNext(); ) {
+                BlockPos pos = BlockPos.of(it.nextLong());
                 BlockState state = level.getBlockState(pos);
                 ComponentData structureComponent = identifyStructureBlock(state, pos, level);
 
@@ -648,7 +666,7 @@ public class UniversalMultiblockScanner {
                 }
             }
 
-            GTCEUTerminalMod.LOGGER.info("Found {} structure components from {} blocks via flood fill",
+            GTCEUTerminalMod.LOGGER.info("Found {} structure components from {} structure blocks",
                     structureBlocksFound, positions.size());
 
         } catch (Exception e) {
@@ -660,16 +678,17 @@ public class UniversalMultiblockScanner {
     private static final class Bounds {
         int minX, maxX, minY, maxY, minZ, maxZ;
 
-        boolean contains(BlockPos pos) {
-            if (pos == null) return false;
-            int x = pos.getX();
-            int y = pos.getY();
-            int z = pos.getZ();
+        boolean contains(int x, int y, int z) {
             return x >= minX && x <= maxX
                     && y >= minY && y <= maxY
                     && z >= minZ && z <= maxZ;
         }
 
+        // Dense index into a sizeX * sizeY * sizeZ bitmap; caller must check contains() first
+        int index(int x, int y, int z, int sizeY, int sizeZ) {
+            return ((x - minX) * sizeY + (y - minY)) * sizeZ + (z - minZ);
+        }
+
         static Bounds fromAnchors(List<BlockPos> anchors, int padding) {
             Bounds b = new Bounds();
             b.minX = Integer.MAX_VALUE;
@@ -751,6 +770,7 @@ public class UniversalMultiblockScanner {
         private final int tier;
         private final Map<String, List<ComponentData>> components;
         private final MultiblockControllerMachine controller;
+        private final LongSet blockPositions;
 
         public DetectedMultiblock(
                 String name,
@@ -759,6 +779,18 @@ public class UniversalMultiblockScanner {
                 int tier,
                 Map<String, List<ComponentData>> components,
                 MultiblockControllerMachine controller
+        ) {
+            this(name, modId, position, tier, components, controller, null);
+        }
+
+        public DetectedMultiblock(
+                String name,
+                String modId,
+                BlockPos position,
+                int tier,
+                Map<String, List<ComponentData>> components,
+                MultiblockControllerMachine controller,
+                LongSet blockPositions
         ) {
             this.name = name;
             this.modId = modId;
@@ -766,6 +798,7 @@ public class UniversalMultiblockScanner {
             this.tier = tier;
             this.components = components;
             this.controller = controller;
+            this.blockPositions = blockPositions;
         }
 
         public String getName() { return name; }
@@ -774,6 +807,8 @@ public class UniversalMultiblockScanner {
         public int getTier() { return tier; }
         public Map<String, List<ComponentData>> getComponents() { return components; }
         public MultiblockControllerMachine getController() { return controller; }
+        // Structure block set resolved during analysis, or null if it was not computed
+        public LongSet getBlockPositions() { return blockPositions; }
 
         public int getTotalComponentCount() {
             return components.values().stream()
@@ -84,7 +84,8 @@ public class ComponentUpgrader {
                         );
 
                 if (meResult.success) {
-                    if (meResult.source == MENetworkItemExtractor.ExtractionSource.ME_NETWORK) {
+                    if (meResult.source == MENetworkItemExtractor.ExtractionSource.ME_NETWORK
+                            || meResult.source == MENetworkItemExtractor.ExtractionSource.MIXED) {
                         extractionSource = " §a(ME Network)";
                     } else if (meResult.source == MENetworkItemExtractor.ExtractionSource.PLAYER_INVENTORY) {
                         extractionSource = " §7(Inventory)";
@@ -307,7 +308,8 @@ public class ComponentUpgrader {
                     );
 
             if (meResult.success) {
-                if (meResult.source == MENetworkItemExtractor.ExtractionSource.ME_NETWORK) {
+                if (meResult.source == MENetworkItemExtractor.ExtractionSource.ME_NETWORK
+                        || meResult.source == MENetworkItemExtractor.ExtractionSource.MIXED) {
                     extractionSource = net.minecraft.network.chat.Component
                             .translatable("item.gtceuterminal.component_upgrade.extraction_source.me_network")
                             .getString();
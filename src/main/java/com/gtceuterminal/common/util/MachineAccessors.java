@@ -0,0 +1,121 @@
+package com.gtceuterminal.common.util;
+
+import com.gtceuterminal.GTCEUTerminalMod;
+
+import com.gregtechceu.gtceu.api.machine.trait.RecipeLogic;
+import com.gregtechceu.gtceu.api.recipe.GTRecipe;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Method;
+
+/**
+ * Shared accessors for GTCEu internals read by the energy collectors.
+ * Protected RecipeLogic fields go through VarHandles resolved once at class load; duck-typed
+ * getters (EU content, power substation) are resolved once per receiver class and cached as
+ * exact-typed MethodHandles, so reading them allocates nothing and never hits reflection again.
+ */
+public final class MachineAccessors {
+
+    private MachineAccessors() {}
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // ─── RecipeLogic fields ──────────────────────────────────────────────────
+    private static final VarHandle RECIPE_PROGRESS    = recipeLogicField("progress", int.class);
+    private static final VarHandle RECIPE_LAST_RECIPE = recipeLogicField("lastRecipe", GTRecipe.class);
+
+    private static VarHandle recipeLogicField(String name, Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(RecipeLogic.class, LOOKUP).findVarHandle(RecipeLogic.class, name, type);
+        } catch (Exception e) {
+            GTCEUTerminalMod.LOGGER.warn("MachineAccessors: could not access RecipeLogic.{}", name, e);
+            return null;
+        }
+    }
+
+    // Progress in ticks; falls back to the public percentage when the field is unavailable
+    public static int progress(RecipeLogic logic) {
+        if (RECIPE_PROGRESS != null) return (int) RECIPE_PROGRESS.get(logic);
+        return (int) (logic.getProgressPercent() * logic.getMaxProgress());
+    }
+
+    public static boolean hasProgressField() {
+        return RECIPE_PROGRESS != null;
+    }
+
+    // The recipe the logic is running or last ran, or null
+    public static GTRecipe lastRecipe(RecipeLogic logic) {
+        return RECIPE_LAST_RECIPE != null ? (GTRecipe) RECIPE_LAST_RECIPE.get(logic) : null;
+    }
+
+    // ─── Duck-typed getters ──────────────────────────────────────────────────
+    // EU content of a recipe tick input
+    public static final Getter VOLTAGE  = new Getter("voltage", long.class);
+    public static final Getter AMPERAGE = new Getter("amperage", long.class);
+    // PowerStationEnergyBank and PowerSubstationMachine
+    public static final Getter GET_STORED        = new Getter("getStored", Object.class);
+    public static final Getter GET_CAPACITY      = new Getter("getCapacity", Object.class);
+    public static final Getter GET_INPUT_PER_SEC  = new Getter("getInputPerSec", long.class);
+    public static final Getter GET_OUTPUT_PER_SEC = new Getter("getOutputPerSec", long.class);
+
+    /**
+     * A public no-arg getter looked up by name, resolved once per receiver class.
+     * The cached handle is adapted to {@code (Object)long} or {@code (Object)Object};
+     * classes without the getter cache null.
+     */
+    public static final class Getter extends ClassValue<MethodHandle> {
+        private final String name;
+        private final MethodType type;
+
+        private Getter(String name, Class<?> returnType) {
+            this.name = name;
+            this.type = MethodType.methodType(returnType, Object.class);
+        }
+
+        @Override
+        protected MethodHandle computeValue(Class<?> receiver) {
+            try {
+                Method method = receiver.getMethod(name);
+                if (method.getParameterCount() != 0) return null;
+                try {
+                    return LOOKUP.unreflect(method).asType(type);
+                } catch (IllegalAccessException e) {
+                    // Public method on a non-public class
+                    method.setAccessible(true);
+                    return LOOKUP.unreflect(method).asType(type);
+                }
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        public boolean isPresent(Object target) {
+            return target != null && get(target.getClass()) != null;
+        }
+
+        // The getter's long value, or fallback if the class has no such getter or it throws
+        public long getLong(Object target, long fallback) {
+            MethodHandle handle = target != null ? get(target.getClass()) : null;
+            if (handle == null) return fallback;
+            try {
+                return (long) handle.invokeExact(target);
+            } catch (Throwable t) {
+                return fallback;
+            }
+        }
+
+        // The getter's value, or null if the class has no such getter or it throws
+        public Object getObject(Object target) {
+            MethodHandle handle = target != null ? get(target.getClass()) : null;
+            if (handle == null) return null;
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gtceuterminal.mixins;
+
+import com.gtceuterminal.common.scanner.MultiblockControllerIndex;
+
+import com.gregtechceu.gtceu.api.machine.multiblock.MultiblockControllerMachine;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+// Feeds controller lifecycle events into the per-dimension MultiblockControllerIndex.
+@Mixin(value = MultiblockControllerMachine.class, remap = false)
+public abstract class MixinMultiblockControllerMachine {
+
+    @Inject(method = "onLoad", at = @At("TAIL"), remap = false)
+    private void gtceuterminal$onLoad(CallbackInfo ci) {
+        MultiblockControllerIndex.onControllerPresent((MultiblockControllerMachine) (Object) this);
+    }
+
+    @Inject(method = "onStructureFormed", at = @At("TAIL"), remap = false)
+    private void gtceuterminal$onStructureFormed(CallbackInfo ci) {
+        MultiblockControllerIndex.onControllerPresent((MultiblockControllerMachine) (Object) this);
+    }
+
+    @Inject(method = "onStructureInvalid", at = @At("TAIL"), remap = false)
+    private void gtceuterminal$onStructureInvalid(CallbackInfo ci) {
+        MultiblockControllerIndex.onControllerMaybeGone((MultiblockControllerMachine) (Object) this);
+    }
+
+    @Inject(method = "onUnload", at = @At("TAIL"), remap = false)
+    private void gtceuterminal$onUnload(CallbackInfo ci) {
+        MultiblockControllerIndex.onControllerMaybeGone((MultiblockControllerMachine) (Object) this);
+    }
+}